@@ -4,7 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import uz.khoshimjonov.dto.NominatimResponse;
-import uz.khoshimjonov.dto.PrayerTimesResponse;
+import uz.khoshimjonov.dto.PrayerCalendarResponse;
 
 import javax.net.ssl.*;
 import java.io.InputStreamReader;
@@ -19,14 +19,14 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class Api {
-    private static final String AL_ADHAN_URL = "https://api.aladhan.com/v1/timings/%s?school=%s&method=%s&latitude=%s&longitude=%s";
+    private static final String AL_ADHAN_CALENDAR_URL = "https://api.aladhan.com/v1/calendar/%d/%d?school=%s&method=%s&latitude=%s&longitude=%s";
     private static final String NOMINATIM_URL = "https://nominatim.openstreetmap.org/search?format=json&limit=1&q=%s";
     private static final String OPEN_ELEVATION_URL = "https://api.open-elevation.com/api/v1/lookup";
     private final Gson GSON = new Gson();
 
 
-    public PrayerTimesResponse getSalahTimes(String timings, int school, int method, String latitude, String longitude) throws Exception {
-        return sendRequest( String.format(AL_ADHAN_URL, timings, school, method, latitude, longitude), PrayerTimesResponse.class);
+    public PrayerCalendarResponse getSalahCalendar(int year, int month, int school, int method, String latitude, String longitude) throws Exception {
+        return sendRequest(String.format(AL_ADHAN_CALENDAR_URL, year, month, school, method, latitude, longitude), PrayerCalendarResponse.class);
     }
 
     public List<NominatimResponse> getPositionByAddress(String address) throws Exception {
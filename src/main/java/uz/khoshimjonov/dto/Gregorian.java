@@ -28,4 +28,7 @@ public class Gregorian {
     @Expose
     private Designation designation;
 
+    public String getDate() {
+        return date;
+    }
 }
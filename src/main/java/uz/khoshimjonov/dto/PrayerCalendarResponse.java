@@ -1,20 +1,20 @@
-
 package uz.khoshimjonov.dto;
 
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 
+import java.util.List;
 
-public class PrayerTimesResponse {
+public class PrayerCalendarResponse {
     @SerializedName("data")
     @Expose
-    private Data data;
+    private List<Data> data;
 
-    public Data getData() {
+    public List<Data> getData() {
         return data;
     }
 
-    public void setData(Data data) {
+    public void setData(List<Data> data) {
         this.data = data;
     }
 }
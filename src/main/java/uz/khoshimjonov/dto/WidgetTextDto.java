@@ -1,6 +1,7 @@
 package uz.khoshimjonov.dto;
 
 import java.awt.*;
+import java.util.Objects;
 
 public class WidgetTextDto {
 
@@ -37,4 +38,18 @@ public class WidgetTextDto {
     public void setTextColor(Color textColor) {
         this.textColor = textColor;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WidgetTextDto that)) return false;
+        return Objects.equals(nextSalah, that.nextSalah)
+                && Objects.equals(remainingTime, that.remainingTime)
+                && Objects.equals(textColor, that.textColor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nextSalah, remainingTime, textColor);
+    }
 }
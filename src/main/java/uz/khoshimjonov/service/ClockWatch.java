@@ -0,0 +1,76 @@
+package uz.khoshimjonov.service;
+
+/**
+ * Detects wall-clock jumps and system suspend/resume.
+ * <p>
+ * Every sample pairs {@link System#nanoTime()} (monotonic) with {@link System#currentTimeMillis()} (wall).
+ * Between two samples both clocks should advance by the same amount:
+ * - Wall clock moved more or less than the monotonic clock: the clock was changed (NTP, manual, zone sync)
+ * - Monotonic clock moved far more than the sampling interval: the process was frozen (sleep, hibernate)
+ * <p>
+ * On some platforms the monotonic clock stops while the machine sleeps, so a suspend shows up as a
+ * forward wall-clock jump instead. Both cases are reported, callers treat them the same way.
+ */
+public final class ClockWatch {
+
+    private static final long JUMP_THRESHOLD_MS = 5_000;    // Wall vs monotonic drift considered a jump
+    private static final long STALL_THRESHOLD_MS = 60_000;  // Extra monotonic time considered a suspend
+
+    public enum Event {
+        NONE,
+        FORWARD_JUMP,
+        BACKWARD_JUMP,
+        RESUMED
+    }
+
+    private final long expectedIntervalMs;
+    private long lastNanos;
+    private long lastWallMs;
+    private long lastDriftMs;
+
+    public ClockWatch(long expectedIntervalMs) {
+        this.expectedIntervalMs = expectedIntervalMs;
+        reset();
+    }
+
+    /**
+     * Re-anchors the watch to the current instant, e.g. after a re-plan.
+     */
+    public synchronized void reset() {
+        lastNanos = System.nanoTime();
+        lastWallMs = System.currentTimeMillis();
+        lastDriftMs = 0;
+    }
+
+    /**
+     * Takes a sample and compares it with the previous one.
+     */
+    public synchronized Event sample() {
+        long nanos = System.nanoTime();
+        long wallMs = System.currentTimeMillis();
+
+        long monoDeltaMs = (nanos - lastNanos) / 1_000_000;
+        long wallDeltaMs = wallMs - lastWallMs;
+        lastNanos = nanos;
+        lastWallMs = wallMs;
+        lastDriftMs = wallDeltaMs - monoDeltaMs;
+
+        if (lastDriftMs > JUMP_THRESHOLD_MS) {
+            return Event.FORWARD_JUMP;
+        }
+        if (lastDriftMs < -JUMP_THRESHOLD_MS) {
+            return Event.BACKWARD_JUMP;
+        }
+        if (monoDeltaMs > expectedIntervalMs + STALL_THRESHOLD_MS) {
+            return Event.RESUMED;
+        }
+        return Event.NONE;
+    }
+
+    /**
+     * Wall minus monotonic time between the last two samples, in milliseconds.
+     */
+    public synchronized long getLastDriftMs() {
+        return lastDriftMs;
+    }
+}
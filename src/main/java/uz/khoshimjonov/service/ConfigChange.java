@@ -0,0 +1,81 @@
+package uz.khoshimjonov.service;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Difference between two configuration snapshots, grouped by what a change affects.
+ *
+ * @param previous snapshot before the update
+ * @param current  snapshot after the update
+ * @param aspects  areas touched by the update, never empty
+ */
+public record ConfigChange(ConfigSnapshot previous, ConfigSnapshot current, Set<Aspect> aspects) {
+
+    /**
+     * Groups of settings that are consumed together.
+     */
+    public enum Aspect {
+        /** Location, method, school or data source: timings must be reloaded */
+        TIMETABLE,
+        /** Which notifications are planned and how early */
+        NOTIFICATIONS,
+        /** Where notifications are delivered besides the tray */
+        NOTIFICATION_OUTPUTS,
+        /** UI language */
+        LANGUAGE,
+        /** Hijri calendar variant */
+        CALENDAR,
+        /** Widget behaviour: always on top, dragging, refresh interval, look and feel */
+        WIDGET,
+        /** Saved widget position */
+        POSITION,
+        /** Address label and auto start */
+        OTHER
+    }
+
+    /**
+     * Returns the change between two snapshots, or null if they are equal.
+     */
+    static ConfigChange between(ConfigSnapshot previous, ConfigSnapshot current) {
+        if (previous.equals(current)) return null;
+
+        EnumSet<Aspect> aspects = EnumSet.noneOf(Aspect.class);
+        if (previous.useApi() != current.useApi() || previous.method() != current.method()
+                || previous.school() != current.school() || previous.latitude() != current.latitude()
+                || previous.longitude() != current.longitude() || previous.elevation() != current.elevation()) {
+            aspects.add(Aspect.TIMETABLE);
+        }
+        if (previous.notifyBefore() != current.notifyBefore() || previous.notifyOnTime() != current.notifyOnTime()
+                || previous.notificationBeforeMinutes() != current.notificationBeforeMinutes()) {
+            aspects.add(Aspect.NOTIFICATIONS);
+        }
+        if (previous.notifyLogFile() != current.notifyLogFile() || previous.notifySound() != current.notifySound()
+                || !Objects.equals(previous.notificationWebhookUrl(), current.notificationWebhookUrl())) {
+            aspects.add(Aspect.NOTIFICATION_OUTPUTS);
+        }
+        if (!Objects.equals(previous.language(), current.language())) {
+            aspects.add(Aspect.LANGUAGE);
+        }
+        if (!Objects.equals(previous.hijriCalendar(), current.hijriCalendar())) {
+            aspects.add(Aspect.CALENDAR);
+        }
+        if (previous.alwaysOnTop() != current.alwaysOnTop() || previous.draggable() != current.draggable()
+                || previous.updateDelay() != current.updateDelay() || previous.lookAndFeelEnabled() != current.lookAndFeelEnabled()) {
+            aspects.add(Aspect.WIDGET);
+        }
+        if (previous.pointX() != current.pointX() || previous.pointY() != current.pointY()) {
+            aspects.add(Aspect.POSITION);
+        }
+        if (aspects.isEmpty()) {
+            aspects.add(Aspect.OTHER);
+        }
+        return new ConfigChange(previous, current, Collections.unmodifiableSet(aspects));
+    }
+
+    public boolean affects(Aspect aspect) {
+        return aspects.contains(aspect);
+    }
+}
@@ -0,0 +1,87 @@
+package uz.khoshimjonov.service;
+
+import java.util.Properties;
+
+/**
+ * Parsed, immutable view of the configuration.
+ * <p>
+ * Built once per change by {@link ConfigurationManager}, so reading a setting is a field access.
+ * Malformed values fall back to their defaults instead of failing every read.
+ */
+public record ConfigSnapshot(
+        int school,
+        int method,
+        String address,
+        double latitude,
+        double longitude,
+        double elevation,
+        boolean lookAndFeelEnabled,
+        boolean useApi,
+        boolean draggable,
+        boolean alwaysOnTop,
+        int updateDelay,
+        int pointX,
+        int pointY,
+        boolean notifyBefore,
+        boolean notifyOnTime,
+        String language,
+        int notificationBeforeMinutes,
+        boolean autoStart,
+        boolean notifyLogFile,
+        boolean notifySound,
+        String notificationWebhookUrl,
+        String hijriCalendar
+) {
+
+    static ConfigSnapshot from(Properties properties) {
+        return new ConfigSnapshot(
+                intValue(properties, "school", 1),
+                intValue(properties, "method", 14),
+                properties.getProperty("address", ""),
+                doubleValue(properties, "latitude", 0.0),
+                doubleValue(properties, "longitude", 0.0),
+                doubleValue(properties, "elevation", 0.0),
+                booleanValue(properties, "lookAndFeelEnabled", true),
+                booleanValue(properties, "useApi", false),
+                booleanValue(properties, "draggable", true),
+                booleanValue(properties, "alwaysOnTop", true),
+                intValue(properties, "updateDelay", 1),
+                intValue(properties, "pointX", 100),
+                intValue(properties, "pointY", 100),
+                booleanValue(properties, "notifyBefore", true),
+                booleanValue(properties, "notifyOnTime", true),
+                properties.getProperty("language", "en"),
+                intValue(properties, "notificationBeforeMinutes", 40),
+                booleanValue(properties, "autoStart", false),
+                booleanValue(properties, "notifyLogFile", false),
+                booleanValue(properties, "notifySound", false),
+                properties.getProperty("notificationWebhookUrl", ""),
+                properties.getProperty("hijriCalendar", "arithmetic")
+        );
+    }
+
+    private static int intValue(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static double doubleValue(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static boolean booleanValue(Properties properties, String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+}
@@ -3,20 +3,42 @@ package uz.khoshimjonov.service;
 import lombok.Getter;
 
 import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Properties;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
 
 public class ConfigurationManager {
 
     private static final String APP_NAME = "SalahTimesWidget";
     private static final String CONFIG_FILE_NAME = "config.properties";
+    private static final long SAVE_DELAY_MS = 500;      // Coalesce bursts of updates into one write
+    private static final long RELOAD_DELAY_MS = 300;    // Coalesce bursts of file events into one reload
 
     private final Path configFilePath;
+    private final ScheduledExecutorService writer;
+    private final AtomicBoolean savePending = new AtomicBoolean();
+    private volatile long contentHash;                  // Checksum of the file content last read or written
+    private volatile ScheduledFuture<?> reloadTask;
     private static Properties properties;
     private static volatile ConfigurationManager instance;
 
-    public boolean apiSettingsUpdated = true;
+    private final AtomicReference<ConfigSnapshot> config = new AtomicReference<>();
+    private final List<Registration> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Receives configuration changes. Called on the thread that made the change, after it was applied.
+     */
+    @FunctionalInterface
+    public interface ConfigListener {
+        void onConfigChanged(ConfigChange change);
+    }
+
+    private record Registration(ConfigListener listener, Set<ConfigChange.Aspect> aspects) {
+    }
 
     @Getter
     private boolean configurationExists = true;
@@ -24,7 +46,14 @@ public class ConfigurationManager {
     private ConfigurationManager() {
         this.configFilePath = getConfigFilePath();
         properties = new Properties();
+        ThreadFactory tf = r -> {
+            Thread t = new Thread(r, "config-writer");
+            t.setDaemon(true);
+            return t;
+        };
+        this.writer = Executors.newSingleThreadScheduledExecutor(tf);
         loadConfig();
+        startWatcher();
     }
 
     /**
@@ -101,166 +130,209 @@ public class ConfigurationManager {
         return instance;
     }
 
+    /**
+     * Returns the current parsed configuration. Never blocks, never parses.
+     */
+    public ConfigSnapshot getSnapshot() {
+        return config.get();
+    }
+
+    /**
+     * Registers a listener for changes touching any of the given aspects.
+     */
+    public void addListener(ConfigListener listener, ConfigChange.Aspect first, ConfigChange.Aspect... rest) {
+        listeners.add(new Registration(listener, EnumSet.of(first, rest)));
+    }
+
+    public void removeListener(ConfigListener listener) {
+        listeners.removeIf(registration -> registration.listener() == listener);
+    }
+
+    private void notifyListeners(ConfigChange change) {
+        for (Registration registration : listeners) {
+            if (Collections.disjoint(registration.aspects(), change.aspects())) continue;
+            try {
+                registration.listener().onConfigChanged(change);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
     public int getSchool() {
-        return Integer.parseInt(properties.getProperty("school", "1"));
+        return config.get().school();
     }
 
     public void setSchool(int school) {
-        properties.setProperty("school", String.valueOf(school));
-        saveConfig();
+        update(editor -> editor.setSchool(school));
     }
 
     public int getMethod() {
-        return Integer.parseInt(properties.getProperty("method", "14"));
+        return config.get().method();
     }
 
     public void setMethod(int method) {
-        properties.setProperty("method", String.valueOf(method));
-        saveConfig();
+        update(editor -> editor.setMethod(method));
     }
 
     public String getAddress() {
-        return properties.getProperty("address", "");
+        return config.get().address();
     }
 
     public void setAddress(String address) {
-        properties.setProperty("address", address);
-        saveConfig();
+        update(editor -> editor.setAddress(address));
     }
 
     public double getLatitude() {
-        return Double.parseDouble(properties.getProperty("latitude", "0.0"));
+        return config.get().latitude();
     }
 
     public void setLatitude(double latitude) {
-        properties.setProperty("latitude", String.valueOf(latitude));
-        saveConfig();
+        update(editor -> editor.setLatitude(latitude));
     }
 
     public double getLongitude() {
-        return Double.parseDouble(properties.getProperty("longitude", "0.0"));
+        return config.get().longitude();
     }
 
     public void setLongitude(double longitude) {
-        properties.setProperty("longitude", String.valueOf(longitude));
-        saveConfig();
+        update(editor -> editor.setLongitude(longitude));
     }
 
     public double getElevation() {
-        return Double.parseDouble(properties.getProperty("elevation", "0.0"));
+        return config.get().elevation();
     }
 
     public void setElevation(double elevation) {
-        properties.setProperty("elevation", String.valueOf(elevation));
-        saveConfig();
+        update(editor -> editor.setElevation(elevation));
     }
 
     public boolean getLookAndFeelEnabled() {
-        return Boolean.parseBoolean(properties.getProperty("lookAndFeelEnabled", "true"));
+        return config.get().lookAndFeelEnabled();
     }
 
     public void setLookAndFeelEnabled(boolean lookAndFeelEnabled) {
-        properties.setProperty("lookAndFeelEnabled", String.valueOf(lookAndFeelEnabled));
-        saveConfig();
+        update(editor -> editor.setLookAndFeelEnabled(lookAndFeelEnabled));
     }
 
     public boolean getUseApi() {
-        return Boolean.parseBoolean(properties.getProperty("useApi", "false"));
+        return config.get().useApi();
     }
 
     public void setUseApi(boolean useApi) {
-        properties.setProperty("useApi", String.valueOf(useApi));
-        saveConfig();
+        update(editor -> editor.setUseApi(useApi));
     }
 
     public boolean isDraggable() {
-        return Boolean.parseBoolean(properties.getProperty("draggable", "true"));
+        return config.get().draggable();
     }
 
     public void setDraggable(boolean draggable) {
-        properties.setProperty("draggable", String.valueOf(draggable));
-        saveConfig();
+        update(editor -> editor.setDraggable(draggable));
     }
 
     public boolean isAlwaysOnTop() {
-        return Boolean.parseBoolean(properties.getProperty("alwaysOnTop", "true"));
+        return config.get().alwaysOnTop();
     }
 
     public void setAlwaysOnTop(boolean alwaysOnTop) {
-        properties.setProperty("alwaysOnTop", String.valueOf(alwaysOnTop));
-        saveConfig();
+        update(editor -> editor.setAlwaysOnTop(alwaysOnTop));
     }
 
     public int getUpdateDelay() {
-        return Integer.parseInt(properties.getProperty("updateDelay", "1"));
+        return config.get().updateDelay();
     }
 
     public void setUpdateDelay(int updateDelay) {
-        properties.setProperty("updateDelay", String.valueOf(updateDelay));
-        saveConfig();
+        update(editor -> editor.setUpdateDelay(updateDelay));
     }
 
     public int getPointX() {
-        return Integer.parseInt(properties.getProperty("pointX", "100"));
+        return config.get().pointX();
     }
 
     public void setPointX(int pointX) {
-        properties.setProperty("pointX", String.valueOf(pointX));
-        saveConfig();
+        update(editor -> editor.setPointX(pointX));
     }
 
     public int getPointY() {
-        return Integer.parseInt(properties.getProperty("pointY", "100"));
+        return config.get().pointY();
     }
 
     public void setPointY(int pointY) {
-        properties.setProperty("pointY", String.valueOf(pointY));
-        saveConfig();
+        update(editor -> editor.setPointY(pointY));
     }
 
     public boolean isNotifyBefore() {
-        return Boolean.parseBoolean(properties.getProperty("notifyBefore", "true"));
+        return config.get().notifyBefore();
     }
 
     public void setNotifyBefore(boolean notifyBefore) {
-        properties.setProperty("notifyBefore", String.valueOf(notifyBefore));
-        saveConfig();
+        update(editor -> editor.setNotifyBefore(notifyBefore));
     }
 
     public boolean isNotifyOnTime() {
-        return Boolean.parseBoolean(properties.getProperty("notifyOnTime", "true"));
+        return config.get().notifyOnTime();
     }
 
     public void setNotifyOnTime(boolean notifyOnTime) {
-        properties.setProperty("notifyOnTime", String.valueOf(notifyOnTime));
-        saveConfig();
+        update(editor -> editor.setNotifyOnTime(notifyOnTime));
     }
 
     public String getUserLanguage() {
-        return properties.getProperty("language", "en");
+        return config.get().language();
     }
 
     public void setUserLanguage(String userLanguage) {
-        properties.setProperty("language", userLanguage);
-        saveConfig();
+        update(editor -> editor.setUserLanguage(userLanguage));
     }
 
     public int getNotificationBeforeMinutes() {
-        return Integer.parseInt(properties.getProperty("notificationBeforeMinutes", "40"));
+        return config.get().notificationBeforeMinutes();
     }
 
     public void setNotificationBeforeMinutes(int minutes) {
-        properties.setProperty("notificationBeforeMinutes", String.valueOf(minutes));
-        saveConfig();
+        update(editor -> editor.setNotificationBeforeMinutes(minutes));
     }
 
     public boolean getAutoStart() {
-        return Boolean.parseBoolean(properties.getProperty("autoStart", "false"));
+        return config.get().autoStart();
     }
 
     public void setAutoStart(boolean autoStart) {
-        properties.setProperty("autoStart", String.valueOf(autoStart));
-        saveConfig();
+        update(editor -> editor.setAutoStart(autoStart));
+    }
+
+    public boolean isNotifyLogFile() {
+        return config.get().notifyLogFile();
+    }
+
+    public void setNotifyLogFile(boolean notifyLogFile) {
+        update(editor -> editor.setNotifyLogFile(notifyLogFile));
+    }
+
+    public boolean isNotifySound() {
+        return config.get().notifySound();
+    }
+
+    public void setNotifySound(boolean notifySound) {
+        update(editor -> editor.setNotifySound(notifySound));
+    }
+
+    public String getNotificationWebhookUrl() {
+        return config.get().notificationWebhookUrl();
+    }
+
+    public void setNotificationWebhookUrl(String notificationWebhookUrl) {
+        update(editor -> editor.setNotificationWebhookUrl(notificationWebhookUrl));
+    }
+
+    public String getHijriCalendar() {
+        return config.get().hijriCalendar();
+    }
+
+    public void setHijriCalendar(String hijriCalendar) {
+        update(editor -> editor.setHijriCalendar(hijriCalendar));
     }
 
     private void loadConfig() {
@@ -275,27 +347,341 @@ public class ConfigurationManager {
                 Files.createFile(configFilePath);
             }
 
-            try (InputStream input = new FileInputStream(configFilePath.toFile())) {
-                properties.load(input);
-            }
+            byte[] content = Files.readAllBytes(configFilePath);
+            properties.load(new ByteArrayInputStream(content));
+            contentHash = checksum(content);
         } catch (IOException e) {
             e.printStackTrace();
         }
+        config.set(ConfigSnapshot.from(properties));
     }
 
+    // ===== WRITE-BEHIND =====
+
+    /**
+     * Applies a batch of changes as one logical update.
+     * If {@code changes} throws, nothing is applied. Listeners interested in the affected aspects
+     * are notified once with the difference. The file is rewritten once, shortly afterwards,
+     * on the writer thread; further updates within {@value #SAVE_DELAY_MS} ms share the same write.
+     */
+    public void update(Consumer<Editor> changes) {
+        Editor editor = new Editor();
+        changes.accept(editor);
+        if (editor.changes.isEmpty()) return;
+
+        ConfigChange change;
+        synchronized (properties) {
+            editor.changes.forEach(properties::setProperty);
+            ConfigSnapshot previous = config.get();
+            ConfigSnapshot current = ConfigSnapshot.from(properties);
+            config.set(current);
+            change = ConfigChange.between(previous, current);
+        }
+        scheduleSave();
+
+        if (change != null) {
+            notifyListeners(change);
+        }
+    }
+
+    private void scheduleSave() {
+        if (savePending.compareAndSet(false, true)) {
+            try {
+                writer.schedule(this::saveConfig, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                saveConfig();
+            }
+        }
+    }
+
+    /**
+     * Writes pending changes now and waits for the write to finish, e.g. before exit.
+     */
+    public void flush() {
+        if (!savePending.get()) return;
+        try {
+            writer.submit(this::saveConfig).get(5, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            saveConfig();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes to a temporary file next to the config, forces it to disk and moves it over the old file,
+     * so a crash leaves either the old or the new configuration, never a torn one.
+     */
     private void saveConfig() {
+        if (!savePending.getAndSet(false)) return;
+
+        Properties copy = new Properties();
+        synchronized (properties) {
+            copy.putAll(properties);
+        }
+
+        Path tempFile = null;
         try {
-            Path parentDir = configFilePath.getParent();
+            Path parentDir = configFilePath.toAbsolutePath().getParent();
             if (parentDir != null && !Files.exists(parentDir)) {
                 Files.createDirectories(parentDir);
             }
 
-            try (OutputStream output = new FileOutputStream(configFilePath.toFile())) {
-                properties.store(output, "SalahTimesWidget Configuration");
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            copy.store(buffer, "SalahTimesWidget Configuration");
+            byte[] content = buffer.toByteArray();
+            // Known before the file appears, so the watcher recognizes our own write
+            contentHash = checksum(content);
+
+            tempFile = Files.createTempFile(parentDir, CONFIG_FILE_NAME, ".tmp");
+            try (FileOutputStream output = new FileOutputStream(tempFile.toFile())) {
+                output.write(content);
+                output.getFD().sync();
+            }
+
+            try {
+                Files.move(tempFile, configFilePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, configFilePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    // ===== HOT RELOAD =====
+
+    /**
+     * Watches the config directory so edits made outside the app (by hand, by provisioning)
+     * take effect without a restart.
+     */
+    private void startWatcher() {
+        Path file = configFilePath.toAbsolutePath();
+        Path dir = file.getParent();
+        if (dir == null) return;
+
+        try {
+            WatchService watchService = dir.getFileSystem().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            Thread t = new Thread(() -> watch(watchService, file.getFileName()), "config-watcher");
+            t.setDaemon(true);
+            t.start();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void watch(WatchService watchService, Path fileName) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            boolean relevant = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                    relevant = true;
+                }
+            }
+            if (relevant) {
+                scheduleReload();
             }
-            apiSettingsUpdated = true;
+            if (!key.reset()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Editors often produce several events per save (truncate, write, rename); only the last one triggers a reload.
+     */
+    private void scheduleReload() {
+        ScheduledFuture<?> pending = reloadTask;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        try {
+            reloadTask = writer.schedule(this::reloadConfig, RELOAD_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    /**
+     * Re-reads the file if its content differs from what was last read or written, publishes a new
+     * snapshot and notifies listeners. Runs on the writer thread, so it never interleaves with a save;
+     * the file wins over in-memory changes that were not written yet.
+     */
+    private void reloadConfig() {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(configFilePath);
+        } catch (NoSuchFileException e) {
+            return; // Replaced non-atomically, the create event follows
         } catch (IOException e) {
             e.printStackTrace();
+            return;
+        }
+
+        long hash = checksum(content);
+        if (hash == contentHash) return;
+
+        Properties loaded = new Properties();
+        try {
+            loaded.load(new ByteArrayInputStream(content));
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        ConfigChange change;
+        synchronized (properties) {
+            properties.clear();
+            properties.putAll(loaded);
+            contentHash = hash;
+            savePending.set(false);
+            ConfigSnapshot previous = config.get();
+            ConfigSnapshot current = ConfigSnapshot.from(properties);
+            config.set(current);
+            change = ConfigChange.between(previous, current);
+        }
+
+        if (change != null) {
+            notifyListeners(change);
+        }
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    /**
+     * Collects changes for {@link #update(Consumer)}. Nothing is applied until the whole batch succeeded.
+     */
+    public static class Editor {
+        private final Map<String, String> changes = new LinkedHashMap<>();
+
+        private Editor() {
+        }
+
+        public Editor setSchool(int school) {
+            changes.put("school", String.valueOf(school));
+            return this;
+        }
+
+        public Editor setMethod(int method) {
+            changes.put("method", String.valueOf(method));
+            return this;
+        }
+
+        public Editor setAddress(String address) {
+            changes.put("address", address);
+            return this;
+        }
+
+        public Editor setLatitude(double latitude) {
+            changes.put("latitude", String.valueOf(latitude));
+            return this;
+        }
+
+        public Editor setLongitude(double longitude) {
+            changes.put("longitude", String.valueOf(longitude));
+            return this;
+        }
+
+        public Editor setElevation(double elevation) {
+            changes.put("elevation", String.valueOf(elevation));
+            return this;
+        }
+
+        public Editor setLookAndFeelEnabled(boolean lookAndFeelEnabled) {
+            changes.put("lookAndFeelEnabled", String.valueOf(lookAndFeelEnabled));
+            return this;
+        }
+
+        public Editor setUseApi(boolean useApi) {
+            changes.put("useApi", String.valueOf(useApi));
+            return this;
+        }
+
+        public Editor setDraggable(boolean draggable) {
+            changes.put("draggable", String.valueOf(draggable));
+            return this;
+        }
+
+        public Editor setAlwaysOnTop(boolean alwaysOnTop) {
+            changes.put("alwaysOnTop", String.valueOf(alwaysOnTop));
+            return this;
+        }
+
+        public Editor setUpdateDelay(int updateDelay) {
+            changes.put("updateDelay", String.valueOf(updateDelay));
+            return this;
+        }
+
+        public Editor setPointX(int pointX) {
+            changes.put("pointX", String.valueOf(pointX));
+            return this;
+        }
+
+        public Editor setPointY(int pointY) {
+            changes.put("pointY", String.valueOf(pointY));
+            return this;
+        }
+
+        public Editor setNotifyBefore(boolean notifyBefore) {
+            changes.put("notifyBefore", String.valueOf(notifyBefore));
+            return this;
+        }
+
+        public Editor setNotifyOnTime(boolean notifyOnTime) {
+            changes.put("notifyOnTime", String.valueOf(notifyOnTime));
+            return this;
+        }
+
+        public Editor setUserLanguage(String userLanguage) {
+            changes.put("language", userLanguage);
+            return this;
+        }
+
+        public Editor setNotificationBeforeMinutes(int minutes) {
+            changes.put("notificationBeforeMinutes", String.valueOf(minutes));
+            return this;
+        }
+
+        public Editor setAutoStart(boolean autoStart) {
+            changes.put("autoStart", String.valueOf(autoStart));
+            return this;
+        }
+
+        public Editor setNotifyLogFile(boolean notifyLogFile) {
+            changes.put("notifyLogFile", String.valueOf(notifyLogFile));
+            return this;
+        }
+
+        public Editor setNotifySound(boolean notifySound) {
+            changes.put("notifySound", String.valueOf(notifySound));
+            return this;
+        }
+
+        public Editor setNotificationWebhookUrl(String notificationWebhookUrl) {
+            changes.put("notificationWebhookUrl", notificationWebhookUrl);
+            return this;
+        }
+
+        public Editor setHijriCalendar(String hijriCalendar) {
+            changes.put("hijriCalendar", hijriCalendar);
+            return this;
         }
     }
 
@@ -0,0 +1,88 @@
+package uz.khoshimjonov.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable prayer boundaries for one day and the following one.
+ * <p>
+ * Boundaries are kept as sorted epoch seconds, so finding the next prayer
+ * is a binary search over a {@code long[]} with no allocation.
+ */
+public final class DayPlan {
+
+    private final LocalDate date;
+    private final long[] boundaries;
+    private final Prayer[] prayers;
+    private final LocalTime[] times;
+    private final long validUntil;
+
+    private DayPlan(LocalDate date, long[] boundaries, Prayer[] prayers, LocalTime[] times, long validUntil) {
+        this.date = date;
+        this.boundaries = boundaries;
+        this.prayers = prayers;
+        this.times = times;
+        this.validUntil = validUntil;
+    }
+
+    /**
+     * Builds a plan from today's and tomorrow's timings (enum maps, so already in prayer order).
+     */
+    public static DayPlan of(LocalDate date, Map<Prayer, LocalTime> today, Map<Prayer, LocalTime> tomorrow, ZoneId zone) {
+        int size = today.size() + tomorrow.size();
+        long[] boundaries = new long[size];
+        Prayer[] prayers = new Prayer[size];
+        LocalTime[] times = new LocalTime[size];
+
+        int i = 0;
+        for (Map.Entry<Prayer, LocalTime> entry : today.entrySet()) {
+            prayers[i] = entry.getKey();
+            times[i] = entry.getValue();
+            boundaries[i++] = date.atTime(entry.getValue()).atZone(zone).toEpochSecond();
+        }
+        LocalDate nextDate = date.plusDays(1);
+        for (Map.Entry<Prayer, LocalTime> entry : tomorrow.entrySet()) {
+            prayers[i] = entry.getKey();
+            times[i] = entry.getValue();
+            boundaries[i++] = nextDate.atTime(entry.getValue()).atZone(zone).toEpochSecond();
+        }
+
+        long validUntil = nextDate.atStartOfDay(zone).toEpochSecond();
+        return new DayPlan(date, boundaries, prayers, times, validUntil);
+    }
+
+    /**
+     * Index of the first prayer strictly after {@code epochSecond}, or -1 if none is left.
+     */
+    public int nextIndex(long epochSecond) {
+        int pos = Arrays.binarySearch(boundaries, epochSecond);
+        int next = pos >= 0 ? pos + 1 : -(pos + 1);
+        return next < boundaries.length ? next : -1;
+    }
+
+    /**
+     * Whether the plan still describes the current day, i.e. midnight has not passed yet.
+     */
+    public boolean isValidAt(long epochSecond) {
+        return epochSecond < validUntil;
+    }
+
+    public long secondsUntil(int index, long epochSecond) {
+        return boundaries[index] - epochSecond;
+    }
+
+    public Prayer getPrayer(int index) {
+        return prayers[index];
+    }
+
+    public LocalTime getTime(int index) {
+        return times[index];
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+}
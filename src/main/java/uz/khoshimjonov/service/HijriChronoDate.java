@@ -0,0 +1,302 @@
+package uz.khoshimjonov.service;
+
+import uz.khoshimjonov.service.HijriDate.CalendarType;
+
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.time.chrono.ChronoPeriod;
+import java.time.temporal.*;
+
+/**
+ * A date in {@link HijriChronology}, backed by its epoch day.
+ * <p>
+ * Fields are decoded once when the date is created. Adding days, weeks or comparing dates
+ * is plain long arithmetic; months and years clamp the day like {@link LocalDate} does.
+ */
+public final class HijriChronoDate implements ChronoLocalDate {
+
+    private final HijriChronology chronology;
+    private final long epochDay;
+    private final int year;
+    private final int month;
+    private final int day;
+
+    HijriChronoDate(HijriChronology chronology, long epochDay, int year, int month, int day) {
+        this.chronology = chronology;
+        this.epochDay = epochDay;
+        this.year = year;
+        this.month = month;
+        this.day = day;
+    }
+
+    /**
+     * Date in the default calendar; like {@link HijriDate}, years outside the Umm al-Qura table
+     * fall back to the arithmetic calendar.
+     */
+    public static HijriChronoDate of(int year, int month, int day) {
+        CalendarType type = HijriDate.getDefaultCalendar();
+        if (type == CalendarType.UMM_AL_QURA && !UmmAlQuraTable.coversYear(year)) {
+            type = CalendarType.ARITHMETIC;
+        }
+        return HijriChronology.of(type).date(year, month, day);
+    }
+
+    /**
+     * Same day in the default calendar, with the same fallback as {@link #of(int, int, int)}.
+     */
+    public static HijriChronoDate from(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        CalendarType type = HijriDate.getDefaultCalendar();
+        if (type == CalendarType.UMM_AL_QURA && !UmmAlQuraTable.coversEpochDay(epochDay)) {
+            type = CalendarType.ARITHMETIC;
+        }
+        return HijriChronology.of(type).dateEpochDay(epochDay);
+    }
+
+    public static HijriChronoDate now() {
+        return from(LocalDate.now());
+    }
+
+    // ===== ACCESSORS =====
+
+    @Override
+    public HijriChronology getChronology() {
+        return chronology;
+    }
+
+    @Override
+    public HijriEra getEra() {
+        return year >= 1 ? HijriEra.AH : HijriEra.BEFORE_AH;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    public int getDayOfYear() {
+        return (int) (epochDay - HijriDate.toEpochDay(year, 1, 1, chronology.getType())) + 1;
+    }
+
+    @Override
+    public int lengthOfMonth() {
+        return HijriDate.getDaysInMonthInternal(chronology.getType(), year, month);
+    }
+
+    @Override
+    public int lengthOfYear() {
+        return HijriDate.getDaysInYearInternal(chronology.getType(), year);
+    }
+
+    @Override
+    public long toEpochDay() {
+        return epochDay;
+    }
+
+    public LocalDate toGregorian() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    public HijriDate toHijriDate() {
+        return new HijriDate(year, month, day, chronology.getType());
+    }
+
+    @Override
+    public ValueRange range(TemporalField field) {
+        if (field instanceof ChronoField f) {
+            if (!isSupported(f)) {
+                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            }
+            return switch (f) {
+                case DAY_OF_MONTH -> ValueRange.of(1, lengthOfMonth());
+                case DAY_OF_YEAR -> ValueRange.of(1, lengthOfYear());
+                case ALIGNED_WEEK_OF_YEAR -> ValueRange.of(1, (lengthOfYear() - 1) / 7 + 1);
+                default -> chronology.range(f);
+            };
+        }
+        return field.rangeRefinedBy(this);
+    }
+
+    @Override
+    public long getLong(TemporalField field) {
+        if (field instanceof ChronoField f) {
+            return switch (f) {
+                case DAY_OF_WEEK -> Math.floorMod(epochDay + 3, 7) + 1;
+                case ALIGNED_DAY_OF_WEEK_IN_MONTH -> (day - 1) % 7 + 1;
+                case ALIGNED_DAY_OF_WEEK_IN_YEAR -> (getDayOfYear() - 1) % 7 + 1;
+                case DAY_OF_MONTH -> day;
+                case DAY_OF_YEAR -> getDayOfYear();
+                case EPOCH_DAY -> epochDay;
+                case ALIGNED_WEEK_OF_MONTH -> (day - 1) / 7 + 1;
+                case ALIGNED_WEEK_OF_YEAR -> (getDayOfYear() - 1) / 7 + 1;
+                case MONTH_OF_YEAR -> month;
+                case PROLEPTIC_MONTH -> getProlepticMonth();
+                case YEAR_OF_ERA -> year >= 1 ? year : 1 - year;
+                case YEAR -> year;
+                case ERA -> year >= 1 ? 1 : 0;
+                default -> throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            };
+        }
+        return field.getFrom(this);
+    }
+
+    private long getProlepticMonth() {
+        return year * 12L + month - 1;
+    }
+
+    // ===== ARITHMETIC =====
+
+    public HijriChronoDate plusDays(long days) {
+        return days == 0 ? this : chronology.dateEpochDay(Math.addExact(epochDay, days));
+    }
+
+    public HijriChronoDate minusDays(long days) {
+        return plusDays(Math.negateExact(days));
+    }
+
+    public HijriChronoDate plusMonths(long months) {
+        if (months == 0) return this;
+        long prolepticMonth = getProlepticMonth() + months;
+        return resolvePreviousValid(Math.floorDiv(prolepticMonth, 12), Math.floorMod(prolepticMonth, 12) + 1, day);
+    }
+
+    public HijriChronoDate plusYears(long years) {
+        return years == 0 ? this : resolvePreviousValid(Math.addExact(year, years), month, day);
+    }
+
+    private HijriChronoDate resolvePreviousValid(long year, int month, int day) {
+        int y = chronology.range(ChronoField.YEAR).checkValidIntValue(year, ChronoField.YEAR);
+        int length = HijriDate.getDaysInMonthInternal(chronology.getType(), y, month);
+        return chronology.date(y, month, Math.min(day, length));
+    }
+
+    @Override
+    public HijriChronoDate with(TemporalAdjuster adjuster) {
+        return (HijriChronoDate) ChronoLocalDate.super.with(adjuster);
+    }
+
+    @Override
+    public HijriChronoDate with(TemporalField field, long newValue) {
+        if (field instanceof ChronoField f) {
+            range(f).checkValidValue(newValue, f);
+            return switch (f) {
+                case DAY_OF_WEEK, ALIGNED_DAY_OF_WEEK_IN_MONTH, ALIGNED_DAY_OF_WEEK_IN_YEAR, DAY_OF_YEAR ->
+                        plusDays(newValue - getLong(f));
+                case ALIGNED_WEEK_OF_MONTH, ALIGNED_WEEK_OF_YEAR -> plusDays((newValue - getLong(f)) * 7);
+                case DAY_OF_MONTH -> chronology.date(year, month, (int) newValue);
+                case EPOCH_DAY -> chronology.dateEpochDay(newValue);
+                case MONTH_OF_YEAR -> resolvePreviousValid(year, (int) newValue, day);
+                case PROLEPTIC_MONTH -> plusMonths(newValue - getProlepticMonth());
+                case YEAR_OF_ERA -> resolvePreviousValid(year >= 1 ? newValue : 1 - newValue, month, day);
+                case YEAR -> resolvePreviousValid(newValue, month, day);
+                case ERA -> newValue == getLong(ChronoField.ERA) ? this : resolvePreviousValid(1 - year, month, day);
+                default -> throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            };
+        }
+        return field.adjustInto(this, newValue);
+    }
+
+    @Override
+    public HijriChronoDate plus(TemporalAmount amount) {
+        return (HijriChronoDate) ChronoLocalDate.super.plus(amount);
+    }
+
+    @Override
+    public HijriChronoDate plus(long amountToAdd, TemporalUnit unit) {
+        if (unit instanceof ChronoUnit u) {
+            return switch (u) {
+                case DAYS -> plusDays(amountToAdd);
+                case WEEKS -> plusDays(Math.multiplyExact(amountToAdd, 7));
+                case MONTHS -> plusMonths(amountToAdd);
+                case YEARS -> plusYears(amountToAdd);
+                case DECADES -> plusYears(Math.multiplyExact(amountToAdd, 10));
+                case CENTURIES -> plusYears(Math.multiplyExact(amountToAdd, 100));
+                case MILLENNIA -> plusYears(Math.multiplyExact(amountToAdd, 1000));
+                case ERAS -> with(ChronoField.ERA, Math.addExact(getLong(ChronoField.ERA), amountToAdd));
+                default -> throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+            };
+        }
+        return unit.addTo(this, amountToAdd);
+    }
+
+    @Override
+    public HijriChronoDate minus(TemporalAmount amount) {
+        return (HijriChronoDate) ChronoLocalDate.super.minus(amount);
+    }
+
+    @Override
+    public HijriChronoDate minus(long amountToSubtract, TemporalUnit unit) {
+        return amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+                : plus(-amountToSubtract, unit);
+    }
+
+    @Override
+    public long until(Temporal endExclusive, TemporalUnit unit) {
+        HijriChronoDate end = chronology.date(endExclusive);
+        if (unit instanceof ChronoUnit u) {
+            return switch (u) {
+                case DAYS -> end.epochDay - epochDay;
+                case WEEKS -> (end.epochDay - epochDay) / 7;
+                case MONTHS -> monthsUntil(end);
+                case YEARS -> monthsUntil(end) / 12;
+                case DECADES -> monthsUntil(end) / 120;
+                case CENTURIES -> monthsUntil(end) / 1200;
+                case MILLENNIA -> monthsUntil(end) / 12000;
+                case ERAS -> end.getLong(ChronoField.ERA) - getLong(ChronoField.ERA);
+                default -> throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+            };
+        }
+        return unit.between(this, end);
+    }
+
+    private long monthsUntil(HijriChronoDate end) {
+        long start = getProlepticMonth() * 32 + day;
+        long stop = end.getProlepticMonth() * 32 + end.day;
+        return (stop - start) / 32;
+    }
+
+    @Override
+    public ChronoPeriod until(ChronoLocalDate endDateExclusive) {
+        HijriChronoDate end = chronology.date(endDateExclusive);
+        long totalMonths = end.getProlepticMonth() - getProlepticMonth();
+        int days = end.day - day;
+        if (totalMonths > 0 && days < 0) {
+            totalMonths--;
+            days = (int) (end.epochDay - plusMonths(totalMonths).epochDay);
+        } else if (totalMonths < 0 && days > 0) {
+            totalMonths++;
+            days -= end.lengthOfMonth();
+        }
+        return chronology.period(Math.toIntExact(totalMonths / 12), (int) (totalMonths % 12), days);
+    }
+
+    // ===== OBJECT =====
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HijriChronoDate other)) return false;
+        return epochDay == other.epochDay && chronology == other.chronology;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(epochDay) ^ chronology.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        int yearOfEra = year >= 1 ? year : 1 - year;
+        return chronology.getId() + " " + getEra() + " " + yearOfEra
+                + (month < 10 ? "-0" : "-") + month
+                + (day < 10 ? "-0" : "-") + day;
+    }
+}
@@ -0,0 +1,188 @@
+package uz.khoshimjonov.service;
+
+import uz.khoshimjonov.service.HijriDate.CalendarType;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.chrono.AbstractChronology;
+import java.time.chrono.Era;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.ValueRange;
+import java.util.List;
+
+/**
+ * {@link java.time.chrono.Chronology} over {@link HijriDate}'s conversion tables.
+ * <p>
+ * Strategy:
+ * - Dates are {@link HijriChronoDate}s keyed by epoch day, so stepping and comparing are long arithmetic
+ * - One instance per {@link CalendarType}; the Umm al-Qura one is limited to the years its table covers
+ * - Not registered with {@link java.time.chrono.Chronology#of}, the JDK's own {@link java.time.chrono.HijrahChronology}
+ *   already answers to these calendar types; use {@link #of(CalendarType)}
+ * <p>
+ * Interoperates with {@link LocalDate}: {@code chronology.date(localDate)} and {@code LocalDate.from(hijriDate)}.
+ */
+public final class HijriChronology extends AbstractChronology {
+
+    public static final HijriChronology ARITHMETIC = new HijriChronology(CalendarType.ARITHMETIC);
+    public static final HijriChronology UMM_AL_QURA = new HijriChronology(CalendarType.UMM_AL_QURA);
+
+    private static final int MAX_ARITHMETIC_YEAR = 999_999;
+
+    private final CalendarType type;
+    private final String id;
+    private final ValueRange yearRange;
+    private final long minEpochDay;
+    private final long maxEpochDay;
+
+    private HijriChronology(CalendarType type) {
+        this.type = type;
+        this.id = "Hijri-" + type.getKey();
+        int minYear = type == CalendarType.UMM_AL_QURA ? UmmAlQuraTable.MIN_YEAR : -MAX_ARITHMETIC_YEAR;
+        int maxYear = type == CalendarType.UMM_AL_QURA ? UmmAlQuraTable.MAX_YEAR : MAX_ARITHMETIC_YEAR;
+        this.yearRange = ValueRange.of(minYear, maxYear);
+        this.minEpochDay = HijriDate.toEpochDay(minYear, 1, 1, type);
+        this.maxEpochDay = HijriDate.toEpochDay(maxYear, 12, HijriDate.getDaysInMonthInternal(type, maxYear, 12), type);
+    }
+
+    public static HijriChronology of(CalendarType type) {
+        return type == CalendarType.UMM_AL_QURA ? UMM_AL_QURA : ARITHMETIC;
+    }
+
+    /**
+     * Chronology for the calendar selected in settings, see {@link HijriDate#getDefaultCalendar()}.
+     */
+    public static HijriChronology ofDefault() {
+        return of(HijriDate.getDefaultCalendar());
+    }
+
+    public CalendarType getType() {
+        return type;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * CLDR calendar type, used by {@link java.time.format.DateTimeFormatter} for month and era names.
+     */
+    @Override
+    public String getCalendarType() {
+        return type == CalendarType.UMM_AL_QURA ? "islamic-umalqura" : "islamic-civil";
+    }
+
+    // ===== DATE FACTORIES =====
+
+    @Override
+    public HijriChronoDate date(Era era, int yearOfEra, int month, int dayOfMonth) {
+        return date(prolepticYear(era, yearOfEra), month, dayOfMonth);
+    }
+
+    @Override
+    public HijriChronoDate date(int prolepticYear, int month, int dayOfMonth) {
+        yearRange.checkValidValue(prolepticYear, ChronoField.YEAR);
+        ChronoField.MONTH_OF_YEAR.checkValidValue(month);
+        int length = HijriDate.getDaysInMonthInternal(type, prolepticYear, month);
+        if (dayOfMonth < 1 || dayOfMonth > length) {
+            throw new DateTimeException("Invalid date: " + prolepticYear + "-" + month + "-" + dayOfMonth
+                    + ", month has " + length + " days");
+        }
+        long epochDay = HijriDate.toEpochDay(prolepticYear, month, dayOfMonth, type);
+        return new HijriChronoDate(this, epochDay, prolepticYear, month, dayOfMonth);
+    }
+
+    @Override
+    public HijriChronoDate dateYearDay(Era era, int yearOfEra, int dayOfYear) {
+        return dateYearDay(prolepticYear(era, yearOfEra), dayOfYear);
+    }
+
+    @Override
+    public HijriChronoDate dateYearDay(int prolepticYear, int dayOfYear) {
+        yearRange.checkValidValue(prolepticYear, ChronoField.YEAR);
+        int length = HijriDate.getDaysInYearInternal(type, prolepticYear);
+        if (dayOfYear < 1 || dayOfYear > length) {
+            throw new DateTimeException("Invalid day of year " + dayOfYear + ", year " + prolepticYear + " has " + length + " days");
+        }
+        return dateEpochDay(HijriDate.toEpochDay(prolepticYear, 1, 1, type) + dayOfYear - 1);
+    }
+
+    @Override
+    public HijriChronoDate dateEpochDay(long epochDay) {
+        if (epochDay < minEpochDay || epochDay > maxEpochDay) {
+            throw new DateTimeException("Epoch day " + epochDay + " is outside the range of " + id);
+        }
+        long packed = HijriDate.packedFromEpochDay(epochDay, type);
+        return new HijriChronoDate(this, epochDay,
+                HijriDate.packedYear(packed), HijriDate.packedMonth(packed), HijriDate.packedDay(packed));
+    }
+
+    @Override
+    public HijriChronoDate date(TemporalAccessor temporal) {
+        if (temporal instanceof HijriChronoDate date && date.getChronology() == this) {
+            return date;
+        }
+        return dateEpochDay(temporal.getLong(ChronoField.EPOCH_DAY));
+    }
+
+    @Override
+    public HijriChronoDate dateNow() {
+        return dateNow(Clock.systemDefaultZone());
+    }
+
+    @Override
+    public HijriChronoDate dateNow(ZoneId zone) {
+        return dateNow(Clock.system(zone));
+    }
+
+    @Override
+    public HijriChronoDate dateNow(Clock clock) {
+        return dateEpochDay(LocalDate.now(clock).toEpochDay());
+    }
+
+    // ===== FIELDS =====
+
+    @Override
+    public boolean isLeapYear(long prolepticYear) {
+        int year = yearRange.checkValidIntValue(prolepticYear, ChronoField.YEAR);
+        return HijriDate.getDaysInYearInternal(type, year) == 355;
+    }
+
+    @Override
+    public int prolepticYear(Era era, int yearOfEra) {
+        if (!(era instanceof HijriEra)) {
+            throw new ClassCastException("Era must be HijriEra");
+        }
+        return era == HijriEra.AH ? yearOfEra : 1 - yearOfEra;
+    }
+
+    @Override
+    public HijriEra eraOf(int eraValue) {
+        return HijriEra.of(eraValue);
+    }
+
+    @Override
+    public List<Era> eras() {
+        return List.of(HijriEra.values());
+    }
+
+    @Override
+    public ValueRange range(ChronoField field) {
+        return switch (field) {
+            case YEAR -> yearRange;
+            case YEAR_OF_ERA -> ValueRange.of(1, Math.max(yearRange.getMaximum(), 1 - yearRange.getMinimum()));
+            case ERA -> type == CalendarType.UMM_AL_QURA ? ValueRange.of(1, 1) : ValueRange.of(0, 1);
+            case PROLEPTIC_MONTH -> ValueRange.of(yearRange.getMinimum() * 12, yearRange.getMaximum() * 12 + 11);
+            case MONTH_OF_YEAR -> ValueRange.of(1, 12);
+            case DAY_OF_MONTH -> ValueRange.of(1, 29, 30);
+            case DAY_OF_YEAR -> ValueRange.of(1, 354, 355);
+            case ALIGNED_WEEK_OF_MONTH -> ValueRange.of(1, 5);
+            case ALIGNED_WEEK_OF_YEAR -> ValueRange.of(1, 51);
+            case EPOCH_DAY -> ValueRange.of(minEpochDay, maxEpochDay);
+            default -> field.range();
+        };
+    }
+}
@@ -6,14 +6,52 @@ import java.time.LocalDate;
  *
  * Uses the Umm al-Qura / Kuwaiti algorithm with proper epoch handling.
  * The Islamic calendar began on July 16, 622 CE (Julian) / July 19, 622 CE (Gregorian).
+ *
+ * Dates are converted through {@link LocalDate#toEpochDay()} with integer arithmetic only:
+ * cumulative day tables for the 30-year cycle and for the months make both directions
+ * constant time and allocation free.
+ *
+ * Two calendars are supported, see {@link CalendarType}. The Umm al-Qura table covers
+ * 1300-1600 AH; outside it dates fall back to the arithmetic calendar.
  */
 public class HijriDate {
 
+    /**
+     * How month lengths are determined.
+     */
+    public enum CalendarType {
+        /** Tabular 30-year cycle, can be a day off from official calendars */
+        ARITHMETIC("arithmetic"),
+        /** Official Saudi calendar from an embedded month-length table */
+        UMM_AL_QURA("ummalqura");
+
+        private final String key;
+
+        CalendarType(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public static CalendarType fromKey(String key) {
+            for (CalendarType type : values()) {
+                if (type.key.equalsIgnoreCase(key)) return type;
+            }
+            return ARITHMETIC;
+        }
+    }
+
+    private static volatile CalendarType defaultCalendar = CalendarType.ARITHMETIC;
+
     private final int year;
     private final int month;
     private final int day;
     private final String monthName;
     private final String monthNameArabic;
+    private final long epochDay;
+    private final CalendarType calendar;
 
     private static final String[] HIJRI_MONTHS = {
             "Muharram", "Safar", "Rabi' al-Awwal", "Rabi' al-Thani",
@@ -51,12 +89,34 @@ public class HijriDate {
             "الخميس", "الجمعة", "السبت"
     };
 
-    // Hijri epoch: July 19, 622 CE (Gregorian) = JD 1948439.5
-    private static final double HIJRI_EPOCH = 1948439.5;
+    // Hijri epoch: July 19, 622 CE (Gregorian) = JD 1948439.5 = epoch day -492148
+    private static final long EPOCH_DAY_OFFSET = 492148;
+    private static final int DAYS_PER_CYCLE = 10631;     // 30 lunar years, 11 of them leap
+
+    // Leap years: 2, 5, 7, 10, 13, 16, 18, 21, 24, 26, 29
+    private static final boolean[] LEAP_IN_CYCLE = new boolean[31];   // indexed by position 1..30
+    private static final int[] CYCLE_YEAR_START = new int[31];        // days before year position + 1, [30] = cycle length
+    private static final int[] MONTH_START = new int[13];             // days before month + 1, [12] = common year length
+
+    static {
+        for (int position : new int[]{2, 5, 7, 10, 13, 16, 18, 21, 24, 26, 29}) {
+            LEAP_IN_CYCLE[position] = true;
+        }
+        for (int y = 1; y <= 30; y++) {
+            CYCLE_YEAR_START[y] = CYCLE_YEAR_START[y - 1] + (LEAP_IN_CYCLE[y] ? 355 : 354);
+        }
+        for (int m = 1; m <= 12; m++) {
+            MONTH_START[m] = MONTH_START[m - 1] + (m % 2 == 1 ? 30 : 29);
+        }
+    }
 
     // ==================== CONSTRUCTORS ====================
 
     public HijriDate(int year, int month, int day) {
+        this(year, month, day, defaultCalendar);
+    }
+
+    public HijriDate(int year, int month, int day, CalendarType calendar) {
         if (month < 1 || month > 12) {
             throw new IllegalArgumentException("Month must be between 1 and 12");
         }
@@ -68,6 +128,20 @@ public class HijriDate {
         this.day = day;
         this.monthName = HIJRI_MONTHS[month - 1];
         this.monthNameArabic = HIJRI_MONTHS_ARABIC[month - 1];
+        this.calendar = calendar == CalendarType.UMM_AL_QURA && UmmAlQuraTable.coversYear(year)
+                ? CalendarType.UMM_AL_QURA : CalendarType.ARITHMETIC;
+        this.epochDay = toEpochDay(year, month, day, this.calendar);
+    }
+
+    /**
+     * Calendar used by {@link #fromGregorian}, {@link #today()} and the three-argument constructor.
+     */
+    public static CalendarType getDefaultCalendar() {
+        return defaultCalendar;
+    }
+
+    public static void setDefaultCalendar(CalendarType calendar) {
+        defaultCalendar = calendar;
     }
 
     // ==================== STATIC FACTORY METHODS ====================
@@ -76,15 +150,14 @@ public class HijriDate {
      * Convert a Gregorian date to Hijri date
      */
     public static HijriDate fromGregorian(LocalDate gregorian) {
-        return fromGregorian(gregorian.getYear(), gregorian.getMonthValue(), gregorian.getDayOfMonth());
+        return fromEpochDay(gregorian.toEpochDay());
     }
 
     /**
      * Convert Gregorian date components to Hijri date
      */
     public static HijriDate fromGregorian(int year, int month, int day) {
-        double jd = gregorianToJulian(year, month, day);
-        return julianToHijri(jd);
+        return fromGregorian(LocalDate.of(year, month, day));
     }
 
     /**
@@ -100,142 +173,96 @@ public class HijriDate {
      * Convert this Hijri date to Gregorian
      */
     public LocalDate toGregorian() {
-        double jd = hijriToJulian(year, month, day);
-        return julianToGregorian(jd);
+        return LocalDate.ofEpochDay(epochDay);
     }
 
-    // ==================== CORE ALGORITHMS ====================
-
     /**
-     * Convert Gregorian date to Julian Day Number
+     * Days since 1970-01-01, the same count as {@link LocalDate#toEpochDay()}
      */
-    private static double gregorianToJulian(int year, int month, int day) {
-        if (month <= 2) {
-            year -= 1;
-            month += 12;
-        }
-
-        int A = year / 100;
-        int B = 2 - A + A / 4;
-
-        return Math.floor(365.25 * (year + 4716))
-                + Math.floor(30.6001 * (month + 1))
-                + day + B - 1524.5;
+    public long toEpochDay() {
+        return epochDay;
     }
 
     /**
-     * Convert Julian Day Number to Gregorian date
+     * The same day as a {@link java.time.chrono.ChronoLocalDate} in this date's calendar
      */
-    private static LocalDate julianToGregorian(double jd) {
-        int Z = (int) Math.floor(jd + 0.5);
-        double F = jd + 0.5 - Z;
-
-        int A;
-        if (Z < 2299161) {
-            A = Z;
-        } else {
-            int alpha = (int) Math.floor((Z - 1867216.25) / 36524.25);
-            A = Z + 1 + alpha - alpha / 4;
-        }
+    public HijriChronoDate toChronoDate() {
+        return HijriChronology.of(calendar).dateEpochDay(epochDay);
+    }
 
-        int B = A + 1524;
-        int C = (int) Math.floor((B - 122.1) / 365.25);
-        int D = (int) Math.floor(365.25 * C);
-        int E = (int) Math.floor((B - D) / 30.6001);
+    // ==================== CORE ALGORITHMS ====================
 
-        int day = B - D - (int) Math.floor(30.6001 * E);
-        int month = (E < 14) ? E - 1 : E - 13;
-        int year = (month > 2) ? C - 4716 : C - 4715;
+    /**
+     * Convert days since 1970-01-01 to a Hijri date
+     */
+    public static HijriDate fromEpochDay(long epochDay) {
+        return fromEpochDay(epochDay, defaultCalendar);
+    }
 
-        return LocalDate.of(year, month, day);
+    public static HijriDate fromEpochDay(long epochDay, CalendarType calendar) {
+        long packed = packedFromEpochDay(epochDay, calendar);
+        CalendarType resolved = calendar == CalendarType.UMM_AL_QURA && UmmAlQuraTable.coversEpochDay(epochDay)
+                ? CalendarType.UMM_AL_QURA : CalendarType.ARITHMETIC;
+        return new HijriDate(packedYear(packed), packedMonth(packed), packedDay(packed), resolved);
     }
 
     /**
-     * Convert Julian Day Number to Hijri date
-     * Using corrected arithmetic algorithm
+     * Field decoding without an object, for {@link HijriChronoDate} and bulk conversions.
+     * Returns {@code year << 9 | month << 5 | day}, see {@link #packedYear} and friends.
      */
-    private static HijriDate julianToHijri(double jd) {
-        jd = Math.floor(jd) + 0.5;
+    static long packedFromEpochDay(long epochDay, CalendarType calendar) {
+        if (calendar == CalendarType.UMM_AL_QURA && UmmAlQuraTable.coversEpochDay(epochDay)) {
+            int index = UmmAlQuraTable.monthIndexOf(epochDay);
+            return pack(UmmAlQuraTable.MIN_YEAR + index / 12, index % 12 + 1, UmmAlQuraTable.dayOfMonth(epochDay, index));
+        }
 
-        // Days since Hijri epoch
-        double days = jd - HIJRI_EPOCH;
+        long days = epochDay + EPOCH_DAY_OFFSET;      // 0 = 1 Muharram 1 AH
+        long cycles = Math.floorDiv(days, DAYS_PER_CYCLE);
+        int dayOfCycle = Math.floorMod(days, DAYS_PER_CYCLE);
 
-        // Calculate Hijri year
-        // Average lunar year = 354.36667 days
-        int cycles = (int) Math.floor(days / 10631.0); // 30-year cycles
-        double remainingDays = days - cycles * 10631.0;
+        // Years are 354 or 355 days, so this estimate is exact or one short
+        int yearIndex = dayOfCycle / 355;
+        if (dayOfCycle >= CYCLE_YEAR_START[yearIndex + 1]) yearIndex++;
+        int dayOfYear = dayOfCycle - CYCLE_YEAR_START[yearIndex];
 
-        int yearInCycle = 0;
-        double dayCount = 0;
+        // Months alternate 30 and 29 days, 59 days per pair; the leap day extends month 12
+        int monthIndex = Math.min(11, dayOfYear * 2 / 59);
+        int day = dayOfYear - MONTH_START[monthIndex] + 1;
 
-        for (int y = 1; y <= 30; y++) {
-            int daysInYear = isLeapYearInCycle(y) ? 355 : 354;
-            if (dayCount + daysInYear > remainingDays) {
-                yearInCycle = y;
-                remainingDays -= dayCount;
-                break;
-            }
-            dayCount += daysInYear;
-            if (y == 30) {
-                yearInCycle = 30;
-                remainingDays -= dayCount;
-            }
-        }
-
-        int year = cycles * 30 + yearInCycle;
-
-        // Calculate month and day
-        int month = 1;
-        int dayOfYear = (int) Math.floor(remainingDays) + 1;
+        return pack((int) (cycles * 30 + yearIndex + 1), monthIndex + 1, day);
+    }
 
-        for (int m = 1; m <= 12; m++) {
-            int daysInMonth = getDaysInMonthInternal(year, m);
-            if (dayOfYear <= daysInMonth) {
-                month = m;
-                break;
-            }
-            dayOfYear -= daysInMonth;
-            month = m + 1;
-        }
+    static long pack(int year, int month, int day) {
+        return (long) year << 9 | month << 5 | day;
+    }
 
-        int day = dayOfYear;
+    static int packedYear(long packed) {
+        return (int) (packed >> 9);
+    }
 
-        // Bounds checking
-        if (month > 12) {
-            month = 12;
-            day = getDaysInMonthInternal(year, 12);
-        }
-        if (day < 1) day = 1;
-        if (day > 30) day = 30;
+    static int packedMonth(long packed) {
+        return (int) (packed >> 5) & 0xF;
+    }
 
-        return new HijriDate(year, month, day);
+    static int packedDay(long packed) {
+        return (int) packed & 0x1F;
     }
 
     /**
-     * Convert Hijri date to Julian Day Number
+     * Convert a Hijri date in the given calendar to days since 1970-01-01
      */
-    private static double hijriToJulian(int year, int month, int day) {
-        // Calculate days from epoch
-        int cycles = (year - 1) / 30;
-        int remainingYears = (year - 1) % 30;
-
-        // Days in complete 30-year cycles
-        double days = cycles * 10631.0;
-
-        // Days in remaining complete years
-        for (int y = 1; y <= remainingYears; y++) {
-            days += isLeapYearInCycle(y) ? 355 : 354;
-        }
-
-        // Days in complete months of current year
-        for (int m = 1; m < month; m++) {
-            days += getDaysInMonthInternal(year, m);
-        }
-
-        // Add days of current month
-        days += day;
+    static long toEpochDay(int year, int month, int day, CalendarType calendar) {
+        return usesTable(calendar, year) ? UmmAlQuraTable.toEpochDay(year, month, day) : toEpochDay(year, month, day);
+    }
 
-        return HIJRI_EPOCH + days - 1;
+    /**
+     * Convert a Hijri date to days since 1970-01-01
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        long cycles = Math.floorDiv(year - 1, 30);
+        int yearIndex = Math.floorMod(year - 1, 30);
+        long days = cycles * DAYS_PER_CYCLE + CYCLE_YEAR_START[yearIndex] + MONTH_START[month - 1] + day - 1;
+        return days - EPOCH_DAY_OFFSET;
     }
 
     /**
@@ -243,11 +270,7 @@ public class HijriDate {
      * Leap years: 2, 5, 7, 10, 13, 16, 18, 21, 24, 26, 29
      */
     private static boolean isLeapYearInCycle(int yearInCycle) {
-        int[] leapYears = {2, 5, 7, 10, 13, 16, 18, 21, 24, 26, 29};
-        for (int ly : leapYears) {
-            if (yearInCycle == ly) return true;
-        }
-        return false;
+        return yearInCycle >= 1 && yearInCycle <= 30 && LEAP_IN_CYCLE[yearInCycle];
     }
 
     // ==================== UTILITY METHODS ====================
@@ -256,26 +279,43 @@ public class HijriDate {
      * Check if the Hijri year is a leap year
      */
     public static boolean isLeapYear(int hijriYear) {
-        int positionInCycle = ((hijriYear - 1) % 30) + 1;
+        if (usesTable(defaultCalendar, hijriYear)) {
+            return UmmAlQuraTable.lengthOfYear(hijriYear) == 355;
+        }
+        int positionInCycle = Math.floorMod(hijriYear - 1, 30) + 1;
         return isLeapYearInCycle(positionInCycle);
     }
 
     /**
      * Internal method to get days in month
      */
-    private static int getDaysInMonthInternal(int year, int month) {
+    private static boolean usesTable(CalendarType calendar, int year) {
+        return calendar == CalendarType.UMM_AL_QURA && UmmAlQuraTable.coversYear(year);
+    }
+
+    static int getDaysInMonthInternal(CalendarType calendar, int year, int month) {
+        if (usesTable(calendar, year)) {
+            return UmmAlQuraTable.lengthOfMonth(year, month);
+        }
         // Odd months (1,3,5,7,9,11) have 30 days
         // Even months (2,4,6,8,10,12) have 29 days
         // Exception: month 12 has 30 days in leap years
         if (month % 2 == 1) {
             return 30;
-        } else if (month == 12 && isLeapYear(year)) {
+        } else if (month == 12 && isLeapYearInCycle(Math.floorMod(year - 1, 30) + 1)) {
             return 30;
         } else {
             return 29;
         }
     }
 
+    static int getDaysInYearInternal(CalendarType calendar, int year) {
+        if (usesTable(calendar, year)) {
+            return UmmAlQuraTable.lengthOfYear(year);
+        }
+        return isLeapYearInCycle(Math.floorMod(year - 1, 30) + 1) ? 355 : 354;
+    }
+
     /**
      * Get the number of days in a Hijri month
      */
@@ -283,7 +323,7 @@ public class HijriDate {
         if (month < 1 || month > 12) {
             throw new IllegalArgumentException("Month must be between 1 and 12");
         }
-        return getDaysInMonthInternal(year, month);
+        return getDaysInMonthInternal(defaultCalendar, year, month);
     }
 
     /**
@@ -293,12 +333,18 @@ public class HijriDate {
         return isLeapYear(hijriYear) ? 355 : 354;
     }
 
+    /**
+     * Get the number of days in this date's month, in this date's calendar
+     */
+    public int lengthOfMonth() {
+        return getDaysInMonthInternal(calendar, year, month);
+    }
+
     /**
      * Add days to this Hijri date
      */
     public HijriDate plusDays(int days) {
-        double jd = hijriToJulian(year, month, day);
-        return julianToHijri(jd + days);
+        return fromEpochDay(epochDay + days, calendar);
     }
 
     /**
@@ -321,10 +367,10 @@ public class HijriDate {
             newYear -= 1;
         }
 
-        int maxDay = getDaysInMonth(newYear, newMonth);
+        int maxDay = getDaysInMonthInternal(calendar, newYear, newMonth);
         int newDay = Math.min(this.day, maxDay);
 
-        return new HijriDate(newYear, newMonth, newDay);
+        return new HijriDate(newYear, newMonth, newDay, calendar);
     }
 
     /**
@@ -332,17 +378,17 @@ public class HijriDate {
      */
     public HijriDate plusYears(int years) {
         int newYear = this.year + years;
-        int maxDay = getDaysInMonth(newYear, this.month);
+        int maxDay = getDaysInMonthInternal(calendar, newYear, this.month);
         int newDay = Math.min(this.day, maxDay);
-        return new HijriDate(newYear, this.month, newDay);
+        return new HijriDate(newYear, this.month, newDay, calendar);
     }
 
     /**
      * Get the day of week (0 = Sunday, 6 = Saturday)
      */
     public int getDayOfWeek() {
-        double jd = hijriToJulian(year, month, day);
-        return (int) ((Math.floor(jd + 1.5)) % 7);
+        // 1970-01-01 was a Thursday
+        return Math.floorMod(epochDay + 4, 7);
     }
 
     /**
@@ -366,6 +412,7 @@ public class HijriDate {
     public int getDay() { return day; }
     public String getMonthName() { return monthName; }
     public String getMonthNameArabic() { return monthNameArabic; }
+    public CalendarType getCalendar() { return calendar; }
 
     public static String getMonthName(int month) {
         if (month < 1 || month > 12) {
@@ -421,7 +468,7 @@ public class HijriDate {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         HijriDate other = (HijriDate) obj;
-        return year == other.year && month == other.month && day == other.day;
+        return year == other.year && month == other.month && day == other.day && calendar == other.calendar;
     }
 
     @Override
@@ -484,6 +531,10 @@ public class HijriDate {
     }
 
     public String getMonthName(String languageCode) {
+        return getMonthName(month, languageCode);
+    }
+
+    public static String getMonthName(int month, String languageCode) {
         return switch (languageCode.toLowerCase()) {
             case "uz" -> HIJRI_MONTHS_UZ[month - 1];
             case "ru" -> HIJRI_MONTHS_RU[month - 1];
@@ -525,6 +576,7 @@ public class HijriDate {
         System.out.println("Gregorian: " + today);
         System.out.println("Hijri:     " + hijriToday);
         System.out.println("Arabic:    " + hijriToday.toArabicString());
+        System.out.println("Umm al-Qura: " + HijriDate.fromEpochDay(today.toEpochDay(), CalendarType.UMM_AL_QURA));
         System.out.println("Full:      " + hijriToday.toFullString());
 
         String special = hijriToday.getSpecialDay();
@@ -0,0 +1,25 @@
+package uz.khoshimjonov.service;
+
+import java.time.DateTimeException;
+import java.time.chrono.Era;
+
+/**
+ * Eras of {@link HijriChronology}: years before 1 AH are proleptic.
+ */
+public enum HijriEra implements Era {
+    BEFORE_AH,
+    AH;
+
+    public static HijriEra of(int value) {
+        return switch (value) {
+            case 0 -> BEFORE_AH;
+            case 1 -> AH;
+            default -> throw new DateTimeException("Invalid era: " + value);
+        };
+    }
+
+    @Override
+    public int getValue() {
+        return ordinal();
+    }
+}
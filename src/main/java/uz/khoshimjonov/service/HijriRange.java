@@ -0,0 +1,151 @@
+package uz.khoshimjonov.service;
+
+import uz.khoshimjonov.service.HijriDate.CalendarType;
+
+import java.time.LocalDate;
+
+/**
+ * Hijri labels for consecutive Gregorian days, e.g. a yearly timetable or a calendar grid.
+ * <p>
+ * Strategy:
+ * - The first day is converted once, then days are counted forward against the month lengths
+ * - A month change costs one month-length lookup, every other day is an increment
+ * - Results come as a {@link Cursor} or as packed ints ({@code year << 9 | month << 5 | day}), no objects per day
+ * <p>
+ * Same results as {@link HijriDate#fromEpochDay(long, CalendarType)}, including the fallback to the
+ * arithmetic calendar outside the Umm al-Qura table.
+ */
+public final class HijriRange {
+
+    private HijriRange() {
+    }
+
+    /**
+     * Packed Hijri dates for {@code days} consecutive days starting at {@code start}, in the default calendar.
+     */
+    public static int[] convert(LocalDate start, int days) {
+        return convert(start, days, HijriDate.getDefaultCalendar());
+    }
+
+    public static int[] convert(LocalDate start, int days, CalendarType calendar) {
+        int[] packed = new int[days];
+        Cursor cursor = new Cursor(start.toEpochDay(), calendar);
+        for (int i = 0; i < days; i++) {
+            if (i > 0) cursor.next();
+            packed[i] = cursor.packed();
+        }
+        return packed;
+    }
+
+    public static int yearOf(int packed) {
+        return packed >> 9;
+    }
+
+    public static int monthOf(int packed) {
+        return packed >> 5 & 0xF;
+    }
+
+    public static int dayOf(int packed) {
+        return packed & 0x1F;
+    }
+
+    public static Cursor cursor(LocalDate start) {
+        return new Cursor(start.toEpochDay(), HijriDate.getDefaultCalendar());
+    }
+
+    public static Cursor cursor(LocalDate start, CalendarType calendar) {
+        return new Cursor(start.toEpochDay(), calendar);
+    }
+
+    /**
+     * Mutable position that walks forward one day at a time. Not thread safe.
+     */
+    public static final class Cursor {
+
+        private final CalendarType requested;
+        private CalendarType calendar;     // requested, or arithmetic outside the Umm al-Qura table
+        private long epochDay;
+        private int year;
+        private int month;
+        private int day;
+        private int monthLength;
+
+        private Cursor(long epochDay, CalendarType requested) {
+            this.requested = requested;
+            seek(epochDay);
+        }
+
+        private void seek(long epochDay) {
+            long packed = HijriDate.packedFromEpochDay(epochDay, requested);
+            this.epochDay = epochDay;
+            this.calendar = requested == CalendarType.UMM_AL_QURA && UmmAlQuraTable.coversEpochDay(epochDay)
+                    ? CalendarType.UMM_AL_QURA : CalendarType.ARITHMETIC;
+            this.year = HijriDate.packedYear(packed);
+            this.month = HijriDate.packedMonth(packed);
+            this.day = HijriDate.packedDay(packed);
+            this.monthLength = HijriDate.getDaysInMonthInternal(calendar, year, month);
+        }
+
+        /**
+         * Advances to the following Gregorian day.
+         */
+        public Cursor next() {
+            epochDay++;
+            if (requested == CalendarType.UMM_AL_QURA
+                    && (epochDay == UmmAlQuraTable.FIRST_EPOCH_DAY || epochDay == UmmAlQuraTable.LAST_EPOCH_DAY + 1)) {
+                // Entering or leaving the Umm al-Qura table switches calendars, re-anchor there
+                seek(epochDay);
+                return this;
+            }
+            if (day < monthLength) {
+                day++;
+                return this;
+            }
+            day = 1;
+            if (month == 12) {
+                month = 1;
+                year++;
+            } else {
+                month++;
+            }
+            monthLength = HijriDate.getDaysInMonthInternal(calendar, year, month);
+            return this;
+        }
+
+        public long getEpochDay() {
+            return epochDay;
+        }
+
+        public LocalDate getGregorian() {
+            return LocalDate.ofEpochDay(epochDay);
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public int getMonth() {
+            return month;
+        }
+
+        public int getDay() {
+            return day;
+        }
+
+        public int lengthOfMonth() {
+            return monthLength;
+        }
+
+        public CalendarType getCalendar() {
+            return calendar;
+        }
+
+        public int packed() {
+            return (int) HijriDate.pack(year, month, day);
+        }
+
+        public HijriDate toHijriDate() {
+            return new HijriDate(year, month, day, calendar);
+        }
+    }
+}
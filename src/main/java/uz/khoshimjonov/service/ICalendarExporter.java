@@ -0,0 +1,342 @@
+package uz.khoshimjonov.service;
+
+import uz.khoshimjonov.service.IslamicCalendar.IslamicEvent;
+import uz.khoshimjonov.service.SalahTimesCalculator.PrayerTimes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Writes prayer times and Islamic events as an iCalendar (RFC 5545) file for calendar apps.
+ * <p>
+ * Strategy:
+ * - Days are calculated and written one at a time, nothing is collected per day or per event
+ * - The Hijri date goes into each prayer's description, walked alongside with a {@link HijriRange.Cursor}
+ * - Output goes through one reused byte buffer that folds lines at 75 octets without splitting UTF-8 sequences
+ * - Prayer times are written in UTC, so no VTIMEZONE block is needed; events are all-day dates
+ * - UIDs depend only on the date and the prayer or event key, so re-importing a range updates it in place
+ * <p>
+ * Memory use is the same for a week and for ten years. Times always come from the local calculator,
+ * even when the widget is set to use the online API.
+ */
+public final class ICalendarExporter {
+
+    private static final String PRODUCT_ID = "-//Khoshimjonov//Salah Times//EN";
+    private static final String UID_DOMAIN = "salah-times.khoshimjonov.uz";
+    private static final int DEFAULT_PRAYER_MINUTES = 20;
+
+    private final SalahTimesCalculator calculator;
+    private final ZoneId zone;
+    private final String language;
+    private boolean includePrayers = true;
+    private boolean includeSunrise = false;
+    private boolean includeEvents = true;
+    private int prayerMinutes = DEFAULT_PRAYER_MINUTES;
+    private String calendarName;       // null: the localized application title
+
+    /**
+     * @param zone     the calculator's time zone, used to place local prayer times on the timeline
+     * @param language language for prayer and event names, see {@link IslamicEvent#getName(String)}
+     */
+    public ICalendarExporter(SalahTimesCalculator calculator, ZoneId zone, String language) {
+        this.calculator = calculator;
+        this.zone = zone;
+        this.language = language;
+    }
+
+    /**
+     * Exporter for the configured location, method and language.
+     */
+    public static ICalendarExporter fromConfiguration() {
+        ConfigurationManager configurationManager = ConfigurationManager.getInstance();
+        ConfigSnapshot config = configurationManager.getSnapshot();
+        ZoneId zone = ZoneId.systemDefault();
+        SalahTimesCalculator.Coordinates coordinates = new SalahTimesCalculator.Coordinates(config.latitude(), config.longitude(), config.elevation(), zone);
+        SalahTimesCalculator calculator = new SalahTimesCalculator(coordinates,
+                SalahTimesCalculator.CalculationMethod.getByCode(config.method()),
+                SalahTimesCalculator.AsrMethod.getByCode(config.school()));
+        return new ICalendarExporter(calculator, zone, configurationManager.getUserLanguage());
+    }
+
+    // ==================== OPTIONS ====================
+
+    public ICalendarExporter includePrayers(boolean include) { includePrayers = include; return this; }
+    public ICalendarExporter includeSunrise(boolean include) { includeSunrise = include; return this; }
+    public ICalendarExporter includeEvents(boolean include) { includeEvents = include; return this; }
+    public ICalendarExporter prayerMinutes(int minutes) { prayerMinutes = minutes; return this; }
+    public ICalendarExporter calendarName(String name) { calendarName = name; return this; }
+
+    // ==================== EXPORT ====================
+
+    /**
+     * Writes days {@code from} (inclusive) to {@code to} (exclusive) as one calendar. The stream is not closed.
+     */
+    public void export(LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        FoldingWriter writer = new FoldingWriter(out);
+        long stamp = Instant.now().getEpochSecond();
+
+        writer.property("BEGIN", "VCALENDAR");
+        writer.property("VERSION", "2.0");
+        writer.property("PRODID", PRODUCT_ID);
+        writer.property("CALSCALE", "GREGORIAN");
+        writer.property("METHOD", "PUBLISH");
+        writer.textProperty("X-WR-CALNAME", calendarName != null ? calendarName : LanguageHelper.getText("tooltipTitle"));
+
+        HijriRange.Cursor hijri = HijriRange.cursor(from);
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1), hijri.next()) {
+            if (includePrayers) {
+                writePrayers(writer, calculator.calculate(date), hijriLabel(hijri), stamp);
+            }
+            if (includeEvents) {
+                List<IslamicEvent> events = IslamicCalendar.getEventsForDate(date);
+                for (int i = 0; i < events.size(); i++) {
+                    writeEvent(writer, events.get(i), stamp);
+                }
+            }
+        }
+
+        writer.property("END", "VCALENDAR");
+        writer.flush();
+    }
+
+    /**
+     * Writes the calendar to a file, replacing it only once the export has finished.
+     */
+    public void export(LocalDate from, LocalDate to, Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                export(from, to, out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private String hijriLabel(HijriRange.Cursor hijri) {
+        return hijri.getDay() + " " + HijriDate.getMonthName(hijri.getMonth(), language) + " "
+                + hijri.getYear() + " " + LanguageHelper.getText("hijriYearSuffix");
+    }
+
+    private void writePrayers(FoldingWriter writer, PrayerTimes times, String hijriDate, long stamp) throws IOException {
+        for (Prayer prayer : Prayer.values()) {
+            if (prayer == Prayer.SUNRISE && !includeSunrise) {
+                continue;
+            }
+            LocalTime time = switch (prayer) {
+                case FAJR -> times.fajr;
+                case SUNRISE -> times.sunrise;
+                case DHUHR -> times.dhuhr;
+                case ASR -> times.asr;
+                case MAGHRIB -> times.maghrib;
+                case ISHA -> times.isha;
+            };
+            if (time == null) {
+                // No such time at high latitudes on this day
+                continue;
+            }
+            long start = times.date.atTime(time).atZone(zone).toEpochSecond();
+
+            writer.property("BEGIN", "VEVENT");
+            writer.uid(times.date, prayer.name().toLowerCase());
+            writer.dateTimeProperty("DTSTAMP", stamp);
+            writer.dateTimeProperty("DTSTART", start);
+            writer.dateTimeProperty("DTEND", start + prayerMinutes * 60L);
+            writer.textProperty("SUMMARY", prayer.getTitle());
+            writer.textProperty("DESCRIPTION", hijriDate);
+            writer.property("END", "VEVENT");
+        }
+    }
+
+    private void writeEvent(FoldingWriter writer, IslamicEvent event, long stamp) throws IOException {
+        LocalDate date = event.getGregorianDate();
+        String description = event.getDescription(language);
+
+        writer.property("BEGIN", "VEVENT");
+        writer.uid(date, event.getKey());
+        writer.dateTimeProperty("DTSTAMP", stamp);
+        writer.dateProperty("DTSTART", date);
+        writer.dateProperty("DTEND", date.plusDays(1));
+        writer.textProperty("SUMMARY", event.getName(language));
+        if (!description.isEmpty()) {
+            writer.textProperty("DESCRIPTION", description);
+        }
+        writer.property("TRANSP", "TRANSPARENT");
+        writer.property("END", "VEVENT");
+    }
+
+    // ==================== OUTPUT ====================
+
+    /**
+     * Content-line writer: UTF-8 encoding, line folding and text escaping into a fixed buffer.
+     */
+    private static final class FoldingWriter {
+
+        private static final int MAX_LINE_OCTETS = 75;
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[8192];
+        private int position;
+        private int lineOctets;
+
+        FoldingWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        void property(String name, String value) throws IOException {
+            writeAscii(name);
+            writeAscii(":");
+            writeAscii(value);
+            endLine();
+        }
+
+        void textProperty(String name, String value) throws IOException {
+            writeAscii(name);
+            writeAscii(":");
+            writeText(value);
+            endLine();
+        }
+
+        void uid(LocalDate date, String key) throws IOException {
+            writeAscii("UID:");
+            writeNumber(date.getYear(), 4);
+            writeNumber(date.getMonthValue(), 2);
+            writeNumber(date.getDayOfMonth(), 2);
+            writeAscii("-");
+            writeText(key);
+            writeAscii("@");
+            writeAscii(UID_DOMAIN);
+            endLine();
+        }
+
+        void dateProperty(String name, LocalDate date) throws IOException {
+            writeAscii(name);
+            writeAscii(";VALUE=DATE:");
+            writeNumber(date.getYear(), 4);
+            writeNumber(date.getMonthValue(), 2);
+            writeNumber(date.getDayOfMonth(), 2);
+            endLine();
+        }
+
+        /**
+         * UTC date-time, e.g. {@code DTSTART:20240410T003900Z}.
+         */
+        void dateTimeProperty(String name, long epochSecond) throws IOException {
+            LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, 86400));
+            int secondOfDay = Math.floorMod(epochSecond, 86400);
+            writeAscii(name);
+            writeAscii(":");
+            writeNumber(date.getYear(), 4);
+            writeNumber(date.getMonthValue(), 2);
+            writeNumber(date.getDayOfMonth(), 2);
+            writeAscii("T");
+            writeNumber(secondOfDay / 3600, 2);
+            writeNumber(secondOfDay / 60 % 60, 2);
+            writeNumber(secondOfDay % 60, 2);
+            writeAscii("Z");
+            endLine();
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+            out.flush();
+        }
+
+        private void writeAscii(String value) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                writeCodePoint(value.charAt(i));
+            }
+        }
+
+        private void writeNumber(int value, int digits) throws IOException {
+            for (int divisor = (int) Math.pow(10, digits - 1); divisor > 0; divisor /= 10) {
+                writeCodePoint('0' + value / divisor % 10);
+            }
+        }
+
+        /**
+         * TEXT value: backslash, semicolon, comma and line breaks are escaped.
+         */
+        private void writeText(String value) throws IOException {
+            for (int i = 0; i < value.length(); ) {
+                int codePoint = value.codePointAt(i);
+                i += Character.charCount(codePoint);
+                switch (codePoint) {
+                    case '\\', ';', ',' -> {
+                        writeCodePoint('\\');
+                        writeCodePoint(codePoint);
+                    }
+                    case '\n' -> {
+                        writeCodePoint('\\');
+                        writeCodePoint('n');
+                    }
+                    case '\r' -> {
+                    }
+                    default -> writeCodePoint(codePoint);
+                }
+            }
+        }
+
+        private void writeCodePoint(int codePoint) throws IOException {
+            int length = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (lineOctets + length > MAX_LINE_OCTETS) {
+                // Fold: CRLF followed by a space, which counts towards the next line
+                ensureCapacity(3);
+                buffer[position++] = '\r';
+                buffer[position++] = '\n';
+                buffer[position++] = ' ';
+                lineOctets = 1;
+            }
+            ensureCapacity(length);
+            switch (length) {
+                case 1 -> buffer[position++] = (byte) codePoint;
+                case 2 -> {
+                    buffer[position++] = (byte) (0xC0 | codePoint >> 6);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                }
+                case 3 -> {
+                    buffer[position++] = (byte) (0xE0 | codePoint >> 12);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                }
+                default -> {
+                    buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                }
+            }
+            lineOctets += length;
+        }
+
+        private void endLine() throws IOException {
+            ensureCapacity(2);
+            buffer[position++] = '\r';
+            buffer[position++] = '\n';
+            lineOctets = 0;
+        }
+
+        private void ensureCapacity(int length) throws IOException {
+            if (position + length > buffer.length) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+}
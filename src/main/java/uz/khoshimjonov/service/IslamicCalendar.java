@@ -1,31 +1,45 @@
 package uz.khoshimjonov.service;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
 
 /**
  * Islamic Special Days Calendar
  * Returns all significant Islamic dates for a given Gregorian year
+ *
+ * Queries are answered from {@link IslamicEventIndex}, built once per calendar type; dates outside
+ * the indexed years fall back to generating the events year by year. Returned lists are read-only.
  */
 public class IslamicCalendar {
 
+    private static volatile IslamicEventIndex index;
+
+    /**
+     * Day categories for filters and range counts, see {@link #countDays} and {@link #anyDay}.
+     */
+    public enum Category {
+        /** Recommended fasting */
+        FASTING,
+        FASTING_PROHIBITED,
+        PUBLIC_HOLIDAY,
+        /** Eids, major holy nights and other widely observed days; includes all public holidays */
+        MAJOR;
+
+        final int mask() {
+            return 1 << ordinal();
+        }
+    }
+
     /**
      * Represents a special Islamic day
      */
     public static class IslamicEvent {
-        private final String nameEn;
-        private final String nameRu;
-        private final String nameUz;
-        private final String nameArabic;
-        private final String descriptionEn;
-        private final String descriptionRu;
-        private final String descriptionUz;
+        private final EventDefinition definition;
         private final HijriDate hijriDate;
         private final LocalDate gregorianDate;
-        private final EventType type;
-        private final boolean isFastingDay;
-        private final boolean isFastingProhibited;
-        private final boolean isPublicHoliday;
 
         public enum EventType {
             EID,
@@ -36,24 +50,10 @@ public class IslamicCalendar {
             HISTORICAL
         }
 
-        public IslamicEvent(String nameEn, String nameRu, String nameUz, String nameArabic,
-                            String descriptionEn, String descriptionRu, String descriptionUz,
-                            HijriDate hijriDate, EventType type,
-                            boolean isFastingDay, boolean isFastingProhibited,
-                            boolean isPublicHoliday) {
-            this.nameEn = nameEn;
-            this.nameRu = nameRu;
-            this.nameUz = nameUz;
-            this.nameArabic = nameArabic;
-            this.descriptionEn = descriptionEn;
-            this.descriptionRu = descriptionRu;
-            this.descriptionUz = descriptionUz;
+        IslamicEvent(EventDefinition definition, HijriDate hijriDate) {
+            this.definition = definition;
             this.hijriDate = hijriDate;
             this.gregorianDate = hijriDate.toGregorian();
-            this.type = type;
-            this.isFastingDay = isFastingDay;
-            this.isFastingProhibited = isFastingProhibited;
-            this.isPublicHoliday = isPublicHoliday;
         }
 
         /**
@@ -62,15 +62,7 @@ public class IslamicCalendar {
          * @return Event name in specified language, defaults to English if not found
          */
         public String getName(String lang) {
-            if (lang == null) {
-                return nameEn;
-            }
-            return switch (lang.toLowerCase()) {
-                case "ru" -> nameRu;
-                case "uz" -> nameUz;
-                case "ar", "arabic" -> nameArabic;
-                default -> nameEn;
-            };
+            return IslamicEventTexts.forLanguage(lang).name(definition.id());
         }
 
         /**
@@ -79,37 +71,33 @@ public class IslamicCalendar {
          * @return Event description in specified language, defaults to English if not found
          */
         public String getDescription(String lang) {
-            if (lang == null) {
-                return descriptionEn;
-            }
-            return switch (lang.toLowerCase()) {
-                case "ru" -> descriptionRu;
-                case "uz" -> descriptionUz;
-                default -> descriptionEn;
-            };
+            return IslamicEventTexts.forLanguage(lang).description(definition.id());
         }
 
         // Getters
-        public String getName() { return nameEn; }
-        public String getNameEn() { return nameEn; }
-        public String getNameRu() { return nameRu; }
-        public String getNameUz() { return nameUz; }
-        public String getNameArabic() { return nameArabic; }
-        public String getDescription() { return descriptionEn; }
-        public String getDescriptionEn() { return descriptionEn; }
-        public String getDescriptionRu() { return descriptionRu; }
-        public String getDescriptionUz() { return descriptionUz; }
+        public String getName() { return getName("en"); }
+        public String getNameEn() { return getName("en"); }
+        public String getNameRu() { return getName("ru"); }
+        public String getNameUz() { return getName("uz"); }
+        public String getNameArabic() { return getName("ar"); }
+        public String getDescription() { return getDescription("en"); }
+        public String getDescriptionEn() { return getDescription("en"); }
+        public String getDescriptionRu() { return getDescription("ru"); }
+        public String getDescriptionUz() { return getDescription("uz"); }
+        public String getKey() { return definition.key(); }
         public HijriDate getHijriDate() { return hijriDate; }
         public LocalDate getGregorianDate() { return gregorianDate; }
-        public EventType getType() { return type; }
-        public boolean isFastingDay() { return isFastingDay; }
-        public boolean isFastingProhibited() { return isFastingProhibited; }
-        public boolean isPublicHoliday() { return isPublicHoliday; }
+        public EventType getType() { return definition.type(); }
+        public boolean isFastingDay() { return definition.is(Category.FASTING); }
+        public boolean isFastingProhibited() { return definition.is(Category.FASTING_PROHIBITED); }
+        public boolean isPublicHoliday() { return definition.is(Category.PUBLIC_HOLIDAY); }
+        public boolean isMajor() { return definition.is(Category.MAJOR); }
+        public boolean is(Category category) { return definition.is(category); }
 
         @Override
         public String toString() {
             return String.format("%s - %s (%s)",
-                    gregorianDate, nameEn, hijriDate);
+                    gregorianDate, getNameEn(), hijriDate);
         }
 
         public String toDetailedString() {
@@ -119,21 +107,21 @@ public class IslamicCalendar {
         public String toDetailedString(String lang) {
             StringBuilder sb = new StringBuilder();
             sb.append(String.format("%-25s %s%n", "Event:", getName(lang)));
-            sb.append(String.format("%-25s %s%n", "Arabic:", nameArabic));
+            sb.append(String.format("%-25s %s%n", "Arabic:", getNameArabic()));
             sb.append(String.format("%-25s %s%n", "Gregorian Date:", gregorianDate));
             sb.append(String.format("%-25s %s%n", "Hijri Date:", hijriDate));
-            sb.append(String.format("%-25s %s%n", "Type:", type));
+            sb.append(String.format("%-25s %s%n", "Type:", getType()));
             String desc = getDescription(lang);
             if (desc != null && !desc.isEmpty()) {
                 sb.append(String.format("%-25s %s%n", "Description:", desc));
             }
-            if (isFastingDay) {
+            if (isFastingDay()) {
                 sb.append(String.format("%-25s %s%n", "Fasting:", "Recommended"));
             }
-            if (isFastingProhibited) {
+            if (isFastingProhibited()) {
                 sb.append(String.format("%-25s %s%n", "Fasting:", "Prohibited"));
             }
-            if (isPublicHoliday) {
+            if (isPublicHoliday()) {
                 sb.append(String.format("%-25s %s%n", "Public Holiday:", "Yes (in most Muslim countries)"));
             }
             return sb.toString();
@@ -144,6 +132,13 @@ public class IslamicCalendar {
      * Get all special Islamic days that fall within a Gregorian year
      */
     public static List<IslamicEvent> getEventsForYear(int gregorianYear) {
+        long from = LocalDate.of(gregorianYear, 1, 1).toEpochDay();
+        long to = LocalDate.of(gregorianYear + 1, 1, 1).toEpochDay();
+        IslamicEventIndex eventIndex = index();
+        if (eventIndex.covers(from, to)) {
+            return eventIndex.between(from, to);
+        }
+
         List<IslamicEvent> events = new ArrayList<>();
 
         HijriDate startOfYear = HijriDate.fromGregorian(LocalDate.of(gregorianYear, 1, 1));
@@ -164,362 +159,95 @@ public class IslamicCalendar {
 
         events.sort(Comparator.comparing(IslamicEvent::getGregorianDate));
 
-        return events;
+        return Collections.unmodifiableList(events);
     }
 
     /**
-     * Get all special Islamic days for a Hijri year
+     * Index for the current calendar setting, rebuilt lazily when it changes
      */
-    public static List<IslamicEvent> getEventsForHijriYear(int hijriYear) {
-        List<IslamicEvent> events = new ArrayList<>();
+    private static IslamicEventIndex index() {
+        HijriDate.CalendarType calendar = HijriDate.getDefaultCalendar();
+        IslamicEventIndex current = index;
+        if (current == null || current.getCalendar() != calendar) {
+            synchronized (IslamicCalendar.class) {
+                current = index;
+                if (current == null || current.getCalendar() != calendar) {
+                    current = IslamicEventIndex.build(calendar, DEFINITIONS);
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // ==================== EVENT DEFINITIONS ====================
+
+    /**
+     * A yearly event: its Hijri month and day, type and {@link Category} bits. Texts are looked up by
+     * {@code key} in the per-language tables, see {@link IslamicEventTexts}.
+     */
+    record EventDefinition(int id, String key, int month, int day, IslamicEvent.EventType type, int categories) {
+
+        boolean is(Category category) {
+            return (categories & category.mask()) != 0;
+        }
+
+        IslamicEvent instantiate(HijriDate hijriDate) {
+            return new IslamicEvent(this, hijriDate);
+        }
+    }
 
-        // ===== MUHARRAM (Month 1) =====
-        events.add(new IslamicEvent(
-                "Islamic New Year",
-                "Исламский Новый год",
-                "Islomiy Yangi yil",
-                "رأس السنة الهجرية",
-                "First day of the Islamic calendar year",
-                "Первый день исламского календарного года",
-                "Islomiy taqvim yilining birinchi kuni",
-                new HijriDate(hijriYear, 1, 1),
-                IslamicEvent.EventType.MONTH_START,
-                false, false, true
-        ));
-
-        events.add(new IslamicEvent(
-                "Day of Ashura",
-                "День Ашура",
-                "Ashuro kuni",
-                "يوم عاشوراء",
-                "10th of Muharram",
-                "10-е Мухаррама",
-                "Muharramning 10-kuni",
-                new HijriDate(hijriYear, 1, 10),
-                IslamicEvent.EventType.BLESSED_DAY,
-                true, false, false
-        ));
-
-        // ===== SAFAR (Month 2) =====
-        events.add(new IslamicEvent(
-                "Start of Safar",
-                "Начало месяца Сафар",
-                "Safar oyining boshlanishi",
-                "بداية شهر صفر",
-                "Beginning of the month of Safar",
-                "Начало месяца Сафар",
-                "Safar oyining boshlanishi",
-                new HijriDate(hijriYear, 2, 1),
-                IslamicEvent.EventType.MONTH_START,
-                false, false, false
-        ));
-
-        // ===== RABI' AL-AWWAL (Month 3) =====
-        events.add(new IslamicEvent(
-                "Mawlid al-Nabi",
-                "Мавлид ан-Наби",
-                "Mavlud an-Nabiy",
-                "المولد النبوي الشريف",
-                "Birth of Prophet Muhammad ﷺ (12th Rabi' al-Awwal according to majority)",
-                "Рождение Пророка Мухаммада ﷺ (12-е Раби аль-Авваль по мнению большинства)",
-                "Payg'ambarimiz Muhammad ﷺ ning tug'ilgan kuni (ko'pchilik bo'yicha Rabiul-avvalning 12-kuni)",
-                new HijriDate(hijriYear, 3, 12),
-                IslamicEvent.EventType.BLESSED_DAY,
-                false, false, true
-        ));
-
-        // ===== RAJAB (Month 7) =====
-        events.add(new IslamicEvent(
-                "Start of Rajab",
-                "Начало месяца Раджаб",
-                "Rajab oyining boshlanishi",
-                "بداية شهر رجب",
-                "Beginning of Rajab, one of the four sacred months",
-                "Начало Раджаба, одного из четырёх священных месяцев",
-                "Rajab oyining boshlanishi, to'rtta muqaddas oylardan biri",
-                new HijriDate(hijriYear, 7, 1),
-                IslamicEvent.EventType.MONTH_START,
-                false, false, false
-        ));
-
-        events.add(new IslamicEvent(
-                "Isra and Mi'raj",
-                "Исра и Мирадж",
-                "Isro va Me'roj",
-                "الإسراء والمعراج",
-                "Night Journey and Ascension of Prophet Muhammad ﷺ",
-                "Ночное путешествие и Вознесение Пророка Мухаммада ﷺ",
-                "Payg'ambarimiz Muhammad ﷺ ning tungi sayohati va Me'rojga ko'tarilishi",
-                new HijriDate(hijriYear, 7, 27),
-                IslamicEvent.EventType.HOLY_NIGHT,
-                false, false, false
-        ));
-
-        // ===== SHA'BAN (Month 8) =====
-        events.add(new IslamicEvent(
-                "Start of Sha'ban",
-                "Начало месяца Шаабан",
-                "Sha'bon oyining boshlanishi",
-                "بداية شهر شعبان",
-                "Beginning of Sha'ban",
-                "Начало месяца Шаабан",
-                "Sha'bon oyining boshlanishi",
-                new HijriDate(hijriYear, 8, 1),
-                IslamicEvent.EventType.MONTH_START,
-                false, false, false
-        ));
-
-        events.add(new IslamicEvent(
-                "Laylat al-Bara'at",
-                "Ночь Бараат",
-                "Baro'at kechasi",
-                "ليلة البراءة",
-                "Laylat al-Bara'at",
-                "Ночь Бараат",
-                "Baro'at kechasi",
-                new HijriDate(hijriYear, 8, 15),
-                IslamicEvent.EventType.HOLY_NIGHT,
-                true, false, false
-        ));
-
-        // ===== RAMADAN (Month 9) =====
-        events.add(new IslamicEvent(
-                "First day of Ramadan",
-                "Первый день Рамадана",
-                "Ramazonning birinchi kuni",
-                "أول يوم رمضان",
-                "Beginning of the month of fasting",
-                "Начало месяца поста",
-                "Ro'za oyi boshlanishi",
-                new HijriDate(hijriYear, 9, 1),
-                IslamicEvent.EventType.MONTH_START,
-                true, false, true
-        ));
-
-        events.add(new IslamicEvent(
-                "Laylat al-Qadr (21st night)",
-                "Ляйлят аль-Кадр (21-я ночь)",
-                "Qadr kechasi (21-kecha)",
-                "ليلة القدر",
-                "Night of Power - possible date",
-                "Ночь Предопределения - возможная дата",
-                "Qadr kechasi - ehtimoliy sana",
-                new HijriDate(hijriYear, 9, 21),
-                IslamicEvent.EventType.HOLY_NIGHT,
-                true, false, false
-        ));
-
-        events.add(new IslamicEvent(
-                "Laylat al-Qadr (23rd night)",
-                "Ляйлят аль-Кадр (23-я ночь)",
-                "Qadr kechasi (23-kecha)",
-                "ليلة القدر",
-                "Night of Power - possible date",
-                "Ночь Предопределения - возможная дата",
-                "Qadr kechasi - ehtimoliy sana",
-                new HijriDate(hijriYear, 9, 23),
-                IslamicEvent.EventType.HOLY_NIGHT,
-                true, false, false
-        ));
-
-        events.add(new IslamicEvent(
-                "Laylat al-Qadr (25th night)",
-                "Ляйлят аль-Кадр (25-я ночь)",
-                "Qadr kechasi (25-kecha)",
-                "ليلة القدر",
-                "Night of Power - possible date",
-                "Ночь Предопределения - возможная дата",
-                "Qadr kechasi - ehtimoliy sana",
-                new HijriDate(hijriYear, 9, 25),
-                IslamicEvent.EventType.HOLY_NIGHT,
-                true, false, false
-        ));
-
-        events.add(new IslamicEvent(
-                "Laylat al-Qadr (27th night)",
-                "Ляйлят аль-Кадр (27-я ночь)",
-                "Qadr kechasi (27-kecha)",
-                "ليلة القدر",
-                "Night of Power - most commonly observed date",
-                "Ночь Предопределения - наиболее распространённая дата",
-                "Qadr kechasi - eng ko'p nishonlanadigan sana",
-                new HijriDate(hijriYear, 9, 27),
-                IslamicEvent.EventType.HOLY_NIGHT,
-                true, false, false
-        ));
-
-        events.add(new IslamicEvent(
-                "Laylat al-Qadr (29th night)",
-                "Ляйлят аль-Кадр (29-я ночь)",
-                "Qadr kechasi (29-kecha)",
-                "ليلة القدر",
-                "Night of Power - possible date",
-                "Ночь Предопределения - возможная дата",
-                "Qadr kechasi - ehtimoliy sana",
-                new HijriDate(hijriYear, 9, 29),
-                IslamicEvent.EventType.HOLY_NIGHT,
-                true, false, false
-        ));
-
-        // ===== SHAWWAL (Month 10) =====
-        events.add(new IslamicEvent(
-                "Eid al-Fitr",
-                "Ид аль-Фитр (Ураза-байрам)",
-                "Ramazon hayiti",
-                "عيد الفطر",
-                "Eid al-Fitr",
-                "Ид аль-Фитр",
-                "Ramazon hayiti",
-                new HijriDate(hijriYear, 10, 1),
-                IslamicEvent.EventType.EID,
-                false, true, true
-        ));
-
-        events.add(new IslamicEvent(
-                "Eid al-Fitr (Day 2)",
-                "Ид аль-Фитр (День 2)",
-                "Ramazon hayiti (2-kun)",
-                "عيد الفطر - اليوم الثاني",
-                "Second day of Eid al-Fitr",
-                "Второй день Ид аль-Фитр",
-                "Ramazon hayitining ikkinchi kuni",
-                new HijriDate(hijriYear, 10, 2),
-                IslamicEvent.EventType.EID,
-                false, false, true
-        ));
-
-        events.add(new IslamicEvent(
-                "Eid al-Fitr (Day 3)",
-                "Ид аль-Фитр (День 3)",
-                "Ramazon hayiti (3-kun)",
-                "عيد الفطر - اليوم الثالث",
-                "Third day of Eid al-Fitr",
-                "Третий день Ид аль-Фитр",
-                "Ramazon hayitining uchinchi kuni",
-                new HijriDate(hijriYear, 10, 3),
-                IslamicEvent.EventType.EID,
-                false, false, true
-        ));
-
-        events.add(new IslamicEvent(
-                "Six Days of Shawwal Begin",
-                "Начало шести дней Шавваля",
-                "Shavvolning olti kunlik ro'zasi boshlanishi",
-                "صيام ستة أيام من شوال",
-                "Recommended to fast 6 days in Shawwal after Eid",
-                "Рекомендуется поститься 6 дней в Шаввале после Ида",
-                "Hayitdan keyin Shavvolda 6 kun ro'za tutish tavsiya etiladi",
-                new HijriDate(hijriYear, 10, 2),
-                IslamicEvent.EventType.FASTING_DAY,
-                true, false, false
-        ));
-
-        // ===== DHU AL-QI'DAH (Month 11) =====
-        events.add(new IslamicEvent(
-                "Start of Dhu al-Qi'dah",
-                "Начало месяца Зуль-Каада",
-                "Zulqa'da oyining boshlanishi",
-                "بداية شهر ذو القعدة",
-                "Beginning of Dhu al-Qi'dah, one of the sacred months",
-                "Начало Зуль-Каада, одного из священных месяцев",
-                "Zulqa'da oyining boshlanishi, muqaddas oylardan biri",
-                new HijriDate(hijriYear, 11, 1),
-                IslamicEvent.EventType.MONTH_START,
-                false, false, false
-        ));
-
-        // ===== DHU AL-HIJJAH (Month 12) =====
-        events.add(new IslamicEvent(
-                "Start of Dhu al-Hijjah",
-                "Начало месяца Зуль-Хиджа",
-                "Zulhijja oyining boshlanishi",
-                "بداية شهر ذو الحجة",
-                "Beginning of the month of Hajj, one of the sacred months",
-                "Начало месяца Хаджа, одного из священных месяцев",
-                "Haj oyi boshlanishi, muqaddas oylardan biri",
-                new HijriDate(hijriYear, 12, 1),
-                IslamicEvent.EventType.MONTH_START,
-                true, false, false
-        ));
-
-        events.add(new IslamicEvent(
-                "First 10 Days of Dhu al-Hijjah",
-                "Первые 10 дней Зуль-Хиджа",
-                "Zulhijjaning dastlabki 10 kuni",
-                "العشر الأوائل من ذي الحجة",
-                "First 10 Days of Dhu al-Hijjah",
-                "Первые 10 дней Зуль-Хиджа",
-                "Zulhijjaning dastlabki 10 kuni",
-                new HijriDate(hijriYear, 12, 1),
-                IslamicEvent.EventType.BLESSED_DAY,
-                true, false, false
-        ));
-
-        events.add(new IslamicEvent(
-                "Day of Arafah",
-                "День Арафат",
-                "Arafa kuni",
-                "يوم عرفة",
-                "9th of Dhu al-Hijjah - most important day of Hajj",
-                "9-е Зуль-Хиджа - самый важный день Хаджа",
-                "Zulhijjaning 9-kuni - Hajning eng muhim kuni",
-                new HijriDate(hijriYear, 12, 9),
-                IslamicEvent.EventType.BLESSED_DAY,
-                true, false, false
-        ));
-
-        events.add(new IslamicEvent(
-                "Eid al-Adha",
-                "Ид аль-Адха (Курбан-байрам)",
-                "Qurbon hayiti",
-                "عيد الأضحى",
-                "Festival of Sacrifice",
-                "Праздник жертвоприношения",
-                "Qurbonlik bayrami",
-                new HijriDate(hijriYear, 12, 10),
-                IslamicEvent.EventType.EID,
-                false, true, true
-        ));
-
-        events.add(new IslamicEvent(
-                "Days of Tashreeq (Day 1)",
-                "Дни Ташрик (День 1)",
-                "Tashriq kunlari (1-kun)",
-                "أيام التشريق - اليوم الأول",
-                "11th of Dhu al-Hijjah - fasting prohibited",
-                "11-е Зуль-Хиджа - пост запрещён",
-                "Zulhijjaning 11-kuni - ro'za tutish taqiqlangan",
-                new HijriDate(hijriYear, 12, 11),
-                IslamicEvent.EventType.EID,
-                false, true, true
-        ));
-
-        events.add(new IslamicEvent(
-                "Days of Tashreeq (Day 2)",
-                "Дни Ташрик (День 2)",
-                "Tashriq kunlari (2-kun)",
-                "أيام التشريق - اليوم الثاني",
-                "12th of Dhu al-Hijjah - fasting prohibited",
-                "12-е Зуль-Хиджа - пост запрещён",
-                "Zulhijjaning 12-kuni - ro'za tutish taqiqlangan",
-                new HijriDate(hijriYear, 12, 12),
-                IslamicEvent.EventType.EID,
-                false, true, true
-        ));
-
-        events.add(new IslamicEvent(
-                "Days of Tashreeq (Day 3)",
-                "Дни Ташрик (День 3)",
-                "Tashriq kunlari (3-kun)",
-                "أيام التشريق - اليوم الثالث",
-                "13th of Dhu al-Hijjah - fasting prohibited",
-                "13-е Зуль-Хиджа - пост запрещён",
-                "Zulhijjaning 13-kuni - ro'za tutish taqiqlangan",
-                new HijriDate(hijriYear, 12, 13),
-                IslamicEvent.EventType.EID,
-                false, true, true
-        ));
+    static final List<EventDefinition> DEFINITIONS = loadDefinitions();
 
+    /**
+     * Parses {@code /events/definitions.txt}: one event per line, "key month day type flags".
+     */
+    private static List<EventDefinition> loadDefinitions() {
+        List<EventDefinition> definitions = new ArrayList<>();
+        try (InputStream in = IslamicCalendar.class.getResourceAsStream("/events/definitions.txt")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing resource /events/definitions.txt");
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+");
+                definitions.add(new EventDefinition(definitions.size(), fields[0],
+                        Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                        IslamicEvent.EventType.valueOf(fields[3]), parseCategories(fields[4])));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return List.copyOf(definitions);
+    }
+
+    private static int parseCategories(String flags) {
+        int categories = 0;
+        for (int i = 0; i < flags.length(); i++) {
+            categories |= switch (flags.charAt(i)) {
+                case 'F' -> Category.FASTING.mask();
+                case 'P' -> Category.FASTING_PROHIBITED.mask();
+                case 'H' -> Category.PUBLIC_HOLIDAY.mask() | Category.MAJOR.mask();
+                case 'M' -> Category.MAJOR.mask();
+                default -> 0;
+            };
+        }
+        return categories;
+    }
+
+    /**
+     * Get all special Islamic days for a Hijri year
+     */
+    public static List<IslamicEvent> getEventsForHijriYear(int hijriYear) {
+        List<IslamicEvent> events = new ArrayList<>(DEFINITIONS.size());
+        for (EventDefinition definition : DEFINITIONS) {
+            events.add(definition.instantiate(new HijriDate(hijriYear, definition.month(), definition.day())));
+        }
         return events;
     }
 
@@ -531,12 +259,7 @@ public class IslamicCalendar {
         List<IslamicEvent> majorEvents = new ArrayList<>();
 
         for (IslamicEvent event : allEvents) {
-            if (event.isPublicHoliday() ||
-                    event.getNameEn().contains("Ashura") ||
-                    event.getNameEn().contains("Mawlid") ||
-                    event.getNameEn().contains("Isra") ||
-                    event.getNameEn().contains("Arafah") ||
-                    (event.getNameEn().contains("Laylat al-Qadr") && event.getNameEn().contains("27th"))) {
+            if (event.isMajor()) {
                 majorEvents.add(event);
             }
         }
@@ -548,16 +271,31 @@ public class IslamicCalendar {
      * Get events for a specific month
      */
     public static List<IslamicEvent> getEventsForMonth(int gregorianYear, int gregorianMonth) {
-        List<IslamicEvent> allEvents = getEventsForYear(gregorianYear);
-        List<IslamicEvent> monthEvents = new ArrayList<>();
+        LocalDate firstDay = LocalDate.of(gregorianYear, gregorianMonth, 1);
+        return getEventsBetween(firstDay, firstDay.plusMonths(1));
+    }
 
-        for (IslamicEvent event : allEvents) {
-            if (event.getGregorianDate().getMonthValue() == gregorianMonth) {
-                monthEvents.add(event);
-            }
+    /**
+     * Get events from {@code from} (inclusive) to {@code to} (exclusive)
+     */
+    public static List<IslamicEvent> getEventsBetween(LocalDate from, LocalDate to) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        IslamicEventIndex eventIndex = index();
+        if (eventIndex.covers(fromDay, toDay)) {
+            return eventIndex.between(fromDay, toDay);
         }
 
-        return monthEvents;
+        List<IslamicEvent> events = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.minusDays(1).getYear(); year++) {
+            for (IslamicEvent event : getEventsForYear(year)) {
+                LocalDate date = event.getGregorianDate();
+                if (!date.isBefore(from) && date.isBefore(to)) {
+                    events.add(event);
+                }
+            }
+        }
+        return Collections.unmodifiableList(events);
     }
 
     /**
@@ -571,7 +309,9 @@ public class IslamicCalendar {
         for (IslamicEvent event : events) {
             if (event.getNameEn().equals("First day of Ramadan")) {
                 dates.put("ramadanStart", event.getGregorianDate());
-                dates.put("ramadanEnd", event.getGregorianDate().plusDays(29));
+                // Ramadan has 29 or 30 days depending on the year and calendar
+                HijriChronoDate lastDay = event.getHijriDate().toChronoDate().with(TemporalAdjusters.lastDayOfMonth());
+                dates.put("ramadanEnd", LocalDate.from(lastDay));
             }
             if (event.getNameEn().equals("Eid al-Fitr")) {
                 dates.put("eidAlFitr", event.getGregorianDate());
@@ -608,16 +348,44 @@ public class IslamicCalendar {
      * Check if a specific date has any Islamic events
      */
     public static List<IslamicEvent> getEventsForDate(LocalDate date) {
-        List<IslamicEvent> events = getEventsForYear(date.getYear());
-        List<IslamicEvent> dateEvents = new ArrayList<>();
+        return getEventsBetween(date, date.plusDays(1));
+    }
 
-        for (IslamicEvent event : events) {
-            if (event.getGregorianDate().equals(date)) {
-                dateEvents.add(event);
+    /**
+     * Number of days from {@code from} (inclusive) to {@code to} (exclusive) with an event of the category
+     */
+    public static int countDays(LocalDate from, LocalDate to, Category category) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        if (toDay <= fromDay) {
+            return 0;
+        }
+        IslamicEventIndex eventIndex = index();
+        if (eventIndex.covers(fromDay, toDay)) {
+            return eventIndex.countDays(fromDay, toDay, category);
+        }
+
+        int count = 0;
+        LocalDate lastCounted = null;
+        for (IslamicEvent event : getEventsBetween(from, to)) {
+            if (event.is(category) && !event.getGregorianDate().equals(lastCounted)) {
+                lastCounted = event.getGregorianDate();
+                count++;
             }
         }
+        return count;
+    }
+
+    /**
+     * Whether any day from {@code from} (inclusive) to {@code to} (exclusive) has an event of the category,
+     * e.g. a fasting-prohibited day during a trip
+     */
+    public static boolean anyDay(LocalDate from, LocalDate to, Category category) {
+        return countDays(from, to, category) > 0;
+    }
 
-        return dateEvents;
+    public static boolean isDay(LocalDate date, Category category) {
+        return countDays(date, date.plusDays(1), category) > 0;
     }
 
     /**
@@ -631,6 +399,11 @@ public class IslamicCalendar {
      * Get upcoming events from a specific date
      */
     public static List<IslamicEvent> getUpcomingEvents(LocalDate fromDate, int count) {
+        IslamicEventIndex eventIndex = index();
+        if (eventIndex.coversNext(fromDate.toEpochDay(), count)) {
+            return eventIndex.next(fromDate.toEpochDay(), count);
+        }
+
         List<IslamicEvent> upcoming = new ArrayList<>();
 
         List<IslamicEvent> events = new ArrayList<>();
@@ -646,10 +419,10 @@ public class IslamicCalendar {
         upcoming.sort(Comparator.comparing(IslamicEvent::getGregorianDate));
 
         if (upcoming.size() > count) {
-            return upcoming.subList(0, count);
+            return Collections.unmodifiableList(upcoming.subList(0, count));
         }
 
-        return upcoming;
+        return Collections.unmodifiableList(upcoming);
     }
 
     /**
@@ -0,0 +1,229 @@
+package uz.khoshimjonov.service;
+
+import uz.khoshimjonov.service.HijriDate.CalendarType;
+import uz.khoshimjonov.service.IslamicCalendar.Category;
+import uz.khoshimjonov.service.IslamicCalendar.EventDefinition;
+import uz.khoshimjonov.service.IslamicCalendar.IslamicEvent;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable index of all events for Hijri years {@value #FIRST_YEAR}-{@value #LAST_YEAR}.
+ * <p>
+ * Strategy:
+ * - Occurrences live in parallel primitive arrays sorted by epoch day (ties keep definition order)
+ * - Date, range and "next N" queries are a binary search returning a view over the arrays
+ * - {@link IslamicEvent} objects are created on first access and then reused, so views allocate nothing else
+ * - Each {@link Category} also gets a bitset of its days with per-word prefix counts, so range counts
+ *   and "any day in range" checks are O(1)
+ * <p>
+ * Built for one {@link CalendarType}; {@link IslamicCalendar} rebuilds it when the calendar setting changes.
+ */
+final class IslamicEventIndex {
+
+    static final int FIRST_YEAR = UmmAlQuraTable.MIN_YEAR;
+    static final int LAST_YEAR = UmmAlQuraTable.MAX_YEAR;
+
+    private static final int SEQUENCE_BITS = 16;
+
+    private final CalendarType calendar;
+    private final List<EventDefinition> definitions;
+    private final long[] epochDays;
+    private final short[] years;
+    private final byte[] definitionIds;
+    private final IslamicEvent[] events;        // Filled lazily; events are immutable, so a racy fill is harmless
+    private final long firstEpochDay;
+    private final long lastEpochDay;
+    private final long[][] dayBits;             // [category][word], bit = day - firstEpochDay
+    private final int[][] prefixCounts;         // [category][word], days set in all earlier words
+
+    private IslamicEventIndex(CalendarType calendar, List<EventDefinition> definitions, long[] epochDays,
+                              short[] years, byte[] definitionIds) {
+        this.calendar = calendar;
+        this.definitions = definitions;
+        this.epochDays = epochDays;
+        this.years = years;
+        this.definitionIds = definitionIds;
+        this.events = new IslamicEvent[epochDays.length];
+        this.firstEpochDay = HijriDate.toEpochDay(FIRST_YEAR, 1, 1, calendar);
+        this.lastEpochDay = HijriDate.toEpochDay(LAST_YEAR, 12, HijriDate.getDaysInMonthInternal(calendar, LAST_YEAR, 12), calendar);
+
+        // One spare word, so the day after the last one is still addressable as a range end
+        int words = (int) ((lastEpochDay - firstEpochDay + 1) >>> 6) + 1;
+        Category[] categories = Category.values();
+        this.dayBits = new long[categories.length][words];
+        this.prefixCounts = new int[categories.length][words];
+        for (int i = 0; i < epochDays.length; i++) {
+            EventDefinition definition = definitions.get(definitionIds[i]);
+            int day = (int) (epochDays[i] - firstEpochDay);
+            for (Category category : categories) {
+                if (definition.is(category)) {
+                    dayBits[category.ordinal()][day >>> 6] |= 1L << day;
+                }
+            }
+        }
+        for (Category category : categories) {
+            long[] bits = dayBits[category.ordinal()];
+            int[] prefix = prefixCounts[category.ordinal()];
+            for (int w = 1; w < words; w++) {
+                prefix[w] = prefix[w - 1] + Long.bitCount(bits[w - 1]);
+            }
+        }
+    }
+
+    static IslamicEventIndex build(CalendarType calendar, List<EventDefinition> definitions) {
+        int perYear = definitions.size();
+        int size = (LAST_YEAR - FIRST_YEAR + 1) * perYear;
+        if (size >= 1 << SEQUENCE_BITS || perYear > Byte.MAX_VALUE) {
+            throw new IllegalStateException("Too many events for the index: " + size);
+        }
+
+        // Sort (epochDay, sequence) pairs packed into one long, sequence keeps the definition order on ties
+        long[] keys = new long[size];
+        int sequence = 0;
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            for (EventDefinition definition : definitions) {
+                long epochDay = HijriDate.toEpochDay(year, definition.month(), definition.day(), calendar);
+                keys[sequence] = epochDay << SEQUENCE_BITS | sequence;
+                sequence++;
+            }
+        }
+        Arrays.sort(keys);
+
+        long[] epochDays = new long[size];
+        short[] years = new short[size];
+        byte[] definitionIds = new byte[size];
+        for (int i = 0; i < size; i++) {
+            int seq = (int) (keys[i] & ((1 << SEQUENCE_BITS) - 1));
+            epochDays[i] = keys[i] >> SEQUENCE_BITS;
+            years[i] = (short) (FIRST_YEAR + seq / perYear);
+            definitionIds[i] = (byte) (seq % perYear);
+        }
+        return new IslamicEventIndex(calendar, definitions, epochDays, years, definitionIds);
+    }
+
+    CalendarType getCalendar() {
+        return calendar;
+    }
+
+    /**
+     * Whether every day of {@code [fromEpochDay, toEpochDay)} is inside the indexed years.
+     */
+    boolean covers(long fromEpochDay, long toEpochDay) {
+        return fromEpochDay >= firstEpochDay && toEpochDay - 1 <= lastEpochDay;
+    }
+
+    /**
+     * Position of the first event on or after {@code epochDay}.
+     */
+    int lowerBound(long epochDay) {
+        int low = 0;
+        int high = epochDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Events in {@code [fromEpochDay, toEpochDay)}, in date order.
+     */
+    List<IslamicEvent> between(long fromEpochDay, long toEpochDay) {
+        return view(lowerBound(fromEpochDay), lowerBound(toEpochDay));
+    }
+
+    /**
+     * Up to {@code count} events on or after {@code epochDay}.
+     */
+    List<IslamicEvent> next(long epochDay, int count) {
+        int from = lowerBound(epochDay);
+        return view(from, (int) Math.min(epochDays.length, (long) from + count));
+    }
+
+    /**
+     * Whether {@code next(epochDay, count)} can be answered without running past the indexed years.
+     */
+    boolean coversNext(long epochDay, int count) {
+        int from = lowerBound(epochDay);
+        return epochDay >= firstEpochDay && (long) from + count <= epochDays.length;
+    }
+
+    /**
+     * Number of days in {@code [fromEpochDay, toEpochDay)} with an event of the category; the range must be covered.
+     */
+    int countDays(long fromEpochDay, long toEpochDay, Category category) {
+        return countBefore(toEpochDay, category) - countBefore(fromEpochDay, category);
+    }
+
+    private int countBefore(long epochDay, Category category) {
+        int day = (int) (epochDay - firstEpochDay);
+        int word = day >>> 6;
+        long bitsBelow = dayBits[category.ordinal()][word] & ((1L << day) - 1);
+        return prefixCounts[category.ordinal()][word] + Long.bitCount(bitsBelow);
+    }
+
+    long epochDay(int position) {
+        return epochDays[position];
+    }
+
+    EventDefinition definition(int position) {
+        return definitions.get(definitionIds[position]);
+    }
+
+    int size() {
+        return epochDays.length;
+    }
+
+    IslamicEvent event(int position) {
+        IslamicEvent event = events[position];
+        if (event == null) {
+            EventDefinition definition = definition(position);
+            event = definition.instantiate(new HijriDate(years[position], definition.month(), definition.day(), calendar));
+            events[position] = event;
+        }
+        return event;
+    }
+
+    private List<IslamicEvent> view(int from, int to) {
+        return new View(from, Math.max(from, to));
+    }
+
+    private final class View extends AbstractList<IslamicEvent> implements RandomAccess {
+        private final int from;
+        private final int to;
+
+        View(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public IslamicEvent get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + (to - from));
+            }
+            return event(from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public List<IslamicEvent> subList(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("Range: " + fromIndex + "-" + toIndex + ", size: " + size());
+            }
+            return new View(from + fromIndex, from + toIndex);
+        }
+    }
+}
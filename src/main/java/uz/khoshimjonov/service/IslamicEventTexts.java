@@ -0,0 +1,90 @@
+package uz.khoshimjonov.service;
+
+import uz.khoshimjonov.service.IslamicCalendar.EventDefinition;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event names and descriptions for one language, indexed by {@link EventDefinition#id()}.
+ * <p>
+ * Each language is read from {@code /events/events_<language>.properties} the first time it is asked for,
+ * so normally only the user's language (plus English as the fallback) is ever loaded.
+ * Texts missing from a language fall back to English.
+ */
+final class IslamicEventTexts {
+
+    private static final String DEFAULT_LANGUAGE = "en";
+    private static final Map<String, IslamicEventTexts> LOADED = new ConcurrentHashMap<>();
+
+    private final String[] names;
+    private final String[] descriptions;
+
+    private IslamicEventTexts(String[] names, String[] descriptions) {
+        this.names = names;
+        this.descriptions = descriptions;
+    }
+
+    /**
+     * Texts for a language code: "en", "ru", "uz" or "ar" ("arabic" also works); anything else is English.
+     */
+    static IslamicEventTexts forLanguage(String lang) {
+        String language = normalize(lang);
+        IslamicEventTexts texts = LOADED.get(language);
+        if (texts != null) {
+            return texts;
+        }
+        IslamicEventTexts fallback = language.equals(DEFAULT_LANGUAGE) ? null : forLanguage(DEFAULT_LANGUAGE);
+        return LOADED.computeIfAbsent(language, l -> load(l, IslamicCalendar.DEFINITIONS, fallback));
+    }
+
+    String name(int id) {
+        return names[id];
+    }
+
+    String description(int id) {
+        return descriptions[id];
+    }
+
+    private static String normalize(String lang) {
+        if (lang == null) {
+            return DEFAULT_LANGUAGE;
+        }
+        return switch (lang.toLowerCase()) {
+            case "ru" -> "ru";
+            case "uz" -> "uz";
+            case "ar", "arabic" -> "ar";
+            default -> DEFAULT_LANGUAGE;
+        };
+    }
+
+    private static IslamicEventTexts load(String language, List<EventDefinition> definitions, IslamicEventTexts fallback) {
+        Properties properties = new Properties();
+        String fileName = "/events/events_" + language + ".properties";
+        try (InputStream in = IslamicEventTexts.class.getResourceAsStream(fileName)) {
+            if (in != null) {
+                try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        String[] names = new String[definitions.size()];
+        String[] descriptions = new String[definitions.size()];
+        for (EventDefinition definition : definitions) {
+            int id = definition.id();
+            String key = definition.key();
+            names[id] = properties.getProperty(key + ".name", fallback != null ? fallback.name(id) : key);
+            descriptions[id] = properties.getProperty(key + ".description", fallback != null ? fallback.description(id) : "");
+        }
+        return new IslamicEventTexts(names, descriptions);
+    }
+}
@@ -1,27 +1,85 @@
 package uz.khoshimjonov.service;
 
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Locale;
-import java.util.ResourceBundle;
+import java.util.*;
 
+/**
+ * Localized text lookup.
+ * <p>
+ * Strategy:
+ * - Every key of every supported bundle gets a fixed integer id once, at class load
+ * - Switching locale flattens that locale's bundle into a {@code String[]} indexed by id
+ * - Templates are compiled into {@link MessageTemplate}s on first use and cached per locale
+ * - Unknown keys resolve to an id of -1 and render as an empty string, no bundle lookup or exception
+ */
 public class LanguageHelper {
     private static final String BASE_NAME = "messages";
-    private static ResourceBundle resourceBundle;
 
     private static final String[] SUPPORTED_LANGUAGES = {"uz", "en", "ru"};
 
     private static final ConfigurationManager configurationManager = ConfigurationManager.getInstance();
 
+    private static final Map<String, Integer> KEY_IDS = collectKeys();
+    private static final MessageTemplate EMPTY_TEMPLATE = MessageTemplate.compile("");
+
+    private static volatile Catalog catalog;
+
+    /**
+     * One locale's texts, indexed by key id. Templates fill in lazily; a racing compile
+     * of the same slot just produces an identical template.
+     */
+    private record Catalog(String[] texts, MessageTemplate[] templates) {
+    }
+
+    static {
+        configurationManager.addListener(change -> setLocale(change.current().language()), ConfigChange.Aspect.LANGUAGE);
+    }
 
     public static void setLocale(String languageCode) {
-        Locale locale = Locale.of(languageCode);
-        resourceBundle = ResourceBundle.getBundle(BASE_NAME, locale);
+        ResourceBundle resourceBundle = ResourceBundle.getBundle(BASE_NAME, Locale.of(languageCode));
+        String[] texts = new String[KEY_IDS.size()];
+        for (Map.Entry<String, Integer> entry : KEY_IDS.entrySet()) {
+            String key = entry.getKey();
+            texts[entry.getValue()] = resourceBundle.containsKey(key) ? resourceBundle.getString(key) : "";
+        }
+        catalog = new Catalog(texts, new MessageTemplate[texts.length]);
+    }
+
+    /**
+     * Returns the id of a message key, or -1 if no bundle defines it.
+     * Hot paths resolve ids once and use the int overloads.
+     */
+    public static int keyId(String key) {
+        Integer id = KEY_IDS.get(key);
+        return id == null ? -1 : id;
     }
 
     public static String getText(String key) {
-        return internalGetText(key);
+        return getText(keyId(key));
+    }
+
+    public static String getText(int id) {
+        if (id < 0) return "";
+        return currentCatalog().texts()[id];
+    }
+
+    /**
+     * Returns the compiled template for a message, e.g. for {@code remainingTitle}.
+     */
+    public static MessageTemplate getTemplate(int id) {
+        if (id < 0) return EMPTY_TEMPLATE;
+
+        Catalog current = currentCatalog();
+        MessageTemplate template = current.templates()[id];
+        if (template == null) {
+            template = MessageTemplate.compile(current.texts()[id]);
+            current.templates()[id] = template;
+        }
+        return template;
+    }
+
+    public static MessageTemplate getTemplate(String key) {
+        return getTemplate(keyId(key));
     }
 
     public static String[] getAvailableLocales() {
@@ -49,16 +107,30 @@ public class LanguageHelper {
         }
     }
 
-
-    private static String internalGetText(String key) {
-        if (resourceBundle == null) {
+    private static Catalog currentCatalog() {
+        Catalog current = catalog;
+        if (current == null) {
             setLocale(configurationManager.getUserLanguage());
+            current = catalog;
         }
+        return current;
+    }
 
-        try {
-            return resourceBundle.getString(key);
-        } catch (Exception e) {
-            return "";
+    /**
+     * Assigns ids to the union of keys over all supported bundles.
+     */
+    private static Map<String, Integer> collectKeys() {
+        Map<String, Integer> ids = new HashMap<>();
+        for (String lang : SUPPORTED_LANGUAGES) {
+            try {
+                ResourceBundle bundle = ResourceBundle.getBundle(BASE_NAME, Locale.of(lang));
+                for (String key : bundle.keySet()) {
+                    ids.putIfAbsent(key, ids.size());
+                }
+            } catch (MissingResourceException e) {
+                e.printStackTrace();
+            }
         }
+        return ids;
     }
 }
@@ -0,0 +1,230 @@
+package uz.khoshimjonov.service;
+
+import uz.khoshimjonov.service.SalahTimesCalculator.CalculationMethod;
+import uz.khoshimjonov.service.SalahTimesCalculator.Coordinates;
+
+import java.time.*;
+import java.util.Arrays;
+
+/**
+ * Hijri month starts from the astronomical new moon and crescent visibility.
+ * <p>
+ * Strategy:
+ * - Conjunction instants for {@value #FIRST_YEAR}-{@value #LAST_YEAR} are computed on first use (Meeus, chapter 49)
+ *   into a sorted {@code long[]} of epoch seconds, a few milliseconds for the whole range
+ * - A month-start query is a binary search plus one sunset
+ * - Visibility uses a simple criterion: the crescent is seen on the first evening whose sunset
+ *   comes at least {@value #MIN_CRESCENT_AGE_HOURS} hours after the conjunction
+ * <p>
+ * The criterion is deliberately cheap; it decides the right evening in most months but is not a
+ * substitute for sighting reports or the official Umm al-Qura calendar. Nothing in the widget uses it
+ * yet; {@link HijriDate} stays location independent.
+ */
+public class LunarCalendar {
+
+    private static volatile LunarCalendar instance;
+
+    static final int FIRST_YEAR = 1900;
+    static final int LAST_YEAR = 2200;
+    private static final double MIN_CRESCENT_AGE_HOURS = 15.0;
+
+    private static final double SYNODIC_MONTH_DAYS = 29.530588861;
+
+    private final long[] conjunctions;     // epoch seconds, UT, ascending
+
+    private LunarCalendar() {
+        int firstLunation = lunationNear(FIRST_YEAR);
+        this.conjunctions = computeTable(firstLunation, lunationNear(LAST_YEAR + 1) - firstLunation);
+    }
+
+    public static LunarCalendar getInstance() {
+        if (instance == null) {
+            synchronized (LunarCalendar.class) {
+                if (instance == null) {
+                    instance = new LunarCalendar();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ===== QUERIES =====
+
+    /**
+     * Latest conjunction at or before {@code instant}.
+     */
+    public Instant conjunctionBefore(Instant instant) {
+        int pos = Arrays.binarySearch(conjunctions, instant.getEpochSecond());
+        int index = pos >= 0 ? pos : -(pos + 1) - 1;
+        return Instant.ofEpochSecond(conjunctions[checkIndex(index, instant)]);
+    }
+
+    /**
+     * Earliest conjunction strictly after {@code instant}.
+     */
+    public Instant conjunctionAfter(Instant instant) {
+        int pos = Arrays.binarySearch(conjunctions, instant.getEpochSecond());
+        int index = pos >= 0 ? pos + 1 : -(pos + 1);
+        return Instant.ofEpochSecond(conjunctions[checkIndex(index, instant)]);
+    }
+
+    /**
+     * First day of a Hijri month at the given location: the day after the first evening
+     * on which the new crescent is visible.
+     */
+    public LocalDate monthStart(int hijriYear, int hijriMonth, Coordinates coords) {
+        // The arithmetic calendar stays within a couple of days of the mean lunation,
+        // so the conjunction nearest to the evening before its first day is the one we want
+        long estimate = (HijriDate.toEpochDay(hijriYear, hijriMonth, 1, HijriDate.CalendarType.ARITHMETIC) - 1) * 86_400;
+        int pos = Arrays.binarySearch(conjunctions, estimate);
+        int index = pos >= 0 ? pos : -(pos + 1);
+        if (index > 0 && (index == conjunctions.length || estimate - conjunctions[index - 1] < conjunctions[index] - estimate)) {
+            index--;
+        }
+        Instant conjunction = Instant.ofEpochSecond(conjunctions[checkIndex(index, Instant.ofEpochSecond(estimate))]);
+
+        LocalDate evening = LocalDate.ofInstant(conjunction, coords.timezone);
+        if (!isCrescentVisible(conjunction, evening, coords)) {
+            evening = evening.plusDays(1);      // A day later the moon is always old enough
+        }
+        return evening.plusDays(1);
+    }
+
+    /**
+     * Whether the crescent after {@code conjunction} can be seen at sunset on {@code evening}.
+     */
+    public boolean isCrescentVisible(Instant conjunction, LocalDate evening, Coordinates coords) {
+        ZonedDateTime sunset = sunset(evening, coords);
+        double ageHours = Duration.between(conjunction, sunset).getSeconds() / 3600.0;
+        return ageHours >= MIN_CRESCENT_AGE_HOURS;
+    }
+
+    /**
+     * Sunset from the prayer time calculator; polar days without one use 18:00 local time.
+     */
+    private static ZonedDateTime sunset(LocalDate date, Coordinates coords) {
+        LocalTime maghrib = new SalahTimesCalculator(coords, CalculationMethod.MWL).calculate(date).maghrib;
+        return date.atTime(maghrib != null ? maghrib : LocalTime.of(18, 0)).atZone(coords.timezone);
+    }
+
+    private int checkIndex(int index, Instant instant) {
+        if (index < 0 || index >= conjunctions.length) {
+            throw new DateTimeException(instant + " is outside the conjunction table (" + FIRST_YEAR + "-" + LAST_YEAR + ")");
+        }
+        return index;
+    }
+
+    public int size() {
+        return conjunctions.length;
+    }
+
+    // ===== TABLE =====
+
+    private static int lunationNear(int year) {
+        return (int) Math.floor((year - 2000) * 12.3685);
+    }
+
+    private static long[] computeTable(int firstLunation, int count) {
+        long[] table = new long[count];
+        for (int i = 0; i < count; i++) {
+            table[i] = newMoonEpochSecond(firstLunation + i);
+        }
+        return table;
+    }
+
+    /**
+     * Instant of the true new moon for lunation {@code k}, Meeus "Astronomical Algorithms", chapter 49.
+     * Accurate to well under a minute for the table's range.
+     */
+    static long newMoonEpochSecond(int k) {
+        double t = k / 1236.85;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        double t4 = t3 * t;
+
+        double jde = 2451550.09766 + SYNODIC_MONTH_DAYS * k + 0.00015437 * t2 - 0.000000150 * t3 + 0.00000000073 * t4;
+        double e = 1 - 0.002516 * t - 0.0000074 * t2;
+        double m = Math.toRadians(2.5534 + 29.10535670 * k - 0.0000014 * t2 - 0.00000011 * t3);
+        double mp = Math.toRadians(201.5643 + 385.81693528 * k + 0.0107582 * t2 + 0.00001238 * t3 - 0.000000058 * t4);
+        double f = Math.toRadians(160.7108 + 390.67050284 * k - 0.0016118 * t2 - 0.00000227 * t3 + 0.000000011 * t4);
+        double omega = Math.toRadians(124.7746 - 1.56375588 * k + 0.0020672 * t2 + 0.00000215 * t3);
+
+        jde += -0.40720 * Math.sin(mp)
+                + 0.17241 * e * Math.sin(m)
+                + 0.01608 * Math.sin(2 * mp)
+                + 0.01039 * Math.sin(2 * f)
+                + 0.00739 * e * Math.sin(mp - m)
+                - 0.00514 * e * Math.sin(mp + m)
+                + 0.00208 * e * e * Math.sin(2 * m)
+                - 0.00111 * Math.sin(mp - 2 * f)
+                - 0.00057 * Math.sin(mp + 2 * f)
+                + 0.00056 * e * Math.sin(2 * mp + m)
+                - 0.00042 * Math.sin(3 * mp)
+                + 0.00042 * e * Math.sin(m + 2 * f)
+                + 0.00038 * e * Math.sin(m - 2 * f)
+                - 0.00024 * e * Math.sin(2 * mp - m)
+                - 0.00017 * Math.sin(omega)
+                - 0.00007 * Math.sin(mp + 2 * m)
+                + 0.00004 * Math.sin(2 * mp - 2 * f)
+                + 0.00004 * Math.sin(3 * m)
+                + 0.00003 * Math.sin(mp + m - 2 * f)
+                + 0.00003 * Math.sin(2 * mp + 2 * f)
+                - 0.00003 * Math.sin(mp + m + 2 * f)
+                + 0.00003 * Math.sin(mp - m + 2 * f)
+                - 0.00002 * Math.sin(mp - m - 2 * f)
+                - 0.00002 * Math.sin(3 * mp + m)
+                + 0.00002 * Math.sin(4 * mp);
+
+        // Planetary arguments
+        jde += 0.000325 * dsin(299.77 + 0.107408 * k - 0.009173 * t2)
+                + 0.000165 * dsin(251.88 + 0.016321 * k)
+                + 0.000164 * dsin(251.83 + 26.651886 * k)
+                + 0.000126 * dsin(349.42 + 36.412478 * k)
+                + 0.000110 * dsin(84.66 + 18.206239 * k)
+                + 0.000062 * dsin(141.74 + 53.303771 * k)
+                + 0.000060 * dsin(207.14 + 2.453732 * k)
+                + 0.000056 * dsin(154.84 + 7.306860 * k)
+                + 0.000047 * dsin(34.52 + 27.261239 * k)
+                + 0.000042 * dsin(207.19 + 0.121824 * k)
+                + 0.000040 * dsin(291.34 + 1.844379 * k)
+                + 0.000037 * dsin(161.72 + 24.198154 * k)
+                + 0.000035 * dsin(239.56 + 25.513099 * k)
+                + 0.000023 * dsin(331.55 + 3.592518 * k);
+
+        // JDE is dynamical time; ΔT stays within a few minutes over the table,
+        // the long-term parabola is close enough for day-level month starts
+        double year = 2000 + k / 12.3685;
+        double u = (year - 1820) / 100;
+        double deltaTSeconds = -20 + 32 * u * u;
+
+        return Math.round((jde - 2440587.5) * 86_400 - deltaTSeconds);
+    }
+
+    private static double dsin(double degrees) {
+        return Math.sin(Math.toRadians(degrees));
+    }
+
+    // ==================== MAIN (DEMO) ====================
+
+    public static void main(String[] args) {
+        LunarCalendar lunar = getInstance();
+        System.out.println("Conjunctions in table: " + lunar.size());
+
+        // Known new moons (UT): 2000-01-06 18:14, 2024-04-08 18:21 (total solar eclipse)
+        System.out.println("New moon k=0:    " + Instant.ofEpochSecond(newMoonEpochSecond(0)));
+        System.out.println("Before 2024-04-10: " + lunar.conjunctionBefore(Instant.parse("2024-04-10T00:00:00Z")));
+        System.out.println();
+
+        Coordinates makkah = new Coordinates(21.4225, 39.8262, 277, ZoneId.of("Asia/Riyadh"));
+        Coordinates tashkent = new Coordinates(41.2995, 69.2401, 455, ZoneId.of("Asia/Tashkent"));
+        System.out.println("Month starts 1446-1447 AH (Makkah / Tashkent / Umm al-Qura):");
+        for (int year = 1446; year <= 1447; year++) {
+            for (int month = 1; month <= 12; month++) {
+                System.out.println(year + "-" + (month < 10 ? "0" : "") + month + ":  "
+                        + lunar.monthStart(year, month, makkah) + "  "
+                        + lunar.monthStart(year, month, tashkent) + "  "
+                        + new HijriDate(year, month, 1, HijriDate.CalendarType.UMM_AL_QURA).toGregorian());
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package uz.khoshimjonov.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A localized message pattern, parsed once into literal text and argument slots.
+ * <p>
+ * Supports the subset of {@link java.util.Formatter} syntax used by the message bundles:
+ * {@code %s}, {@code %d}, explicit indexes ({@code %2$s}), zero padding and width ({@code %02d}),
+ * {@code %%} and {@code %n}. Patterns using anything else are kept as-is and rendered with
+ * {@link String#format}, so unusual translations still work, only slower.
+ */
+public final class MessageTemplate {
+
+    private final String pattern;
+    private final String[] literals;    // literals[i] precedes slot i, the last one trails
+    private final int[] argIndexes;
+    private final int[] widths;
+    private final boolean[] zeroPads;
+    private final boolean fallback;
+
+    private MessageTemplate(String pattern, String[] literals, int[] argIndexes, int[] widths, boolean[] zeroPads, boolean fallback) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.argIndexes = argIndexes;
+        this.widths = widths;
+        this.zeroPads = zeroPads;
+        this.fallback = fallback;
+    }
+
+    public static MessageTemplate compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<int[]> slots = new ArrayList<>();     // {argIndex, width, zeroPad}
+        StringBuilder literal = new StringBuilder();
+        int nextArg = 0;
+        int i = 0;
+        int length = pattern.length();
+
+        while (i < length) {
+            char c = pattern.charAt(i++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i >= length) return fallback(pattern);
+
+            char next = pattern.charAt(i);
+            if (next == '%') {
+                literal.append('%');
+                i++;
+                continue;
+            }
+            if (next == 'n') {
+                literal.append(System.lineSeparator());
+                i++;
+                continue;
+            }
+
+            // [argument_index$][0][width](s|d)
+            int start = i;
+            while (i < length && Character.isDigit(pattern.charAt(i))) i++;
+            int argIndex = -1;
+            if (i < length && pattern.charAt(i) == '$') {
+                if (i == start) return fallback(pattern);
+                argIndex = Integer.parseInt(pattern, start, i, 10) - 1;
+                start = ++i;
+                while (i < length && Character.isDigit(pattern.charAt(i))) i++;
+            }
+            boolean zeroPad = i > start && pattern.charAt(start) == '0';
+            int width = i > start ? Integer.parseInt(pattern, start, i, 10) : 0;
+            if (i >= length) return fallback(pattern);
+
+            char conversion = pattern.charAt(i++);
+            if (conversion != 's' && conversion != 'd') return fallback(pattern);
+
+            literals.add(literal.toString());
+            literal.setLength(0);
+            slots.add(new int[]{argIndex >= 0 ? argIndex : nextArg++, width, zeroPad ? 1 : 0});
+        }
+        literals.add(literal.toString());
+
+        int size = slots.size();
+        int[] argIndexes = new int[size];
+        int[] widths = new int[size];
+        boolean[] zeroPads = new boolean[size];
+        for (int s = 0; s < size; s++) {
+            int[] slot = slots.get(s);
+            argIndexes[s] = slot[0];
+            widths[s] = slot[1];
+            zeroPads[s] = slot[2] == 1;
+        }
+        return new MessageTemplate(pattern, literals.toArray(new String[0]), argIndexes, widths, zeroPads, false);
+    }
+
+    private static MessageTemplate fallback(String pattern) {
+        return new MessageTemplate(pattern, new String[]{pattern}, new int[0], new int[0], new boolean[0], true);
+    }
+
+    /**
+     * Appends the message with the given arguments.
+     */
+    public StringBuilder render(StringBuilder sb, Object... args) {
+        if (fallback) {
+            return sb.append(String.format(pattern, args));
+        }
+        for (int s = 0; s < argIndexes.length; s++) {
+            sb.append(literals[s]);
+            int argIndex = argIndexes[s];
+            Object arg = argIndex < args.length ? args[argIndex] : null;
+            if (arg instanceof Long || arg instanceof Integer) {
+                appendPadded(sb, ((Number) arg).longValue(), widths[s], zeroPads[s]);
+            } else {
+                appendPadded(sb, String.valueOf(arg), widths[s]);
+            }
+        }
+        return sb.append(literals[literals.length - 1]);
+    }
+
+    /**
+     * Appends the message with three numeric arguments, without boxing or varargs.
+     * Used on every widget tick for the remaining time.
+     */
+    public StringBuilder render(StringBuilder sb, long a, long b, long c) {
+        if (fallback) {
+            return sb.append(String.format(pattern, a, b, c));
+        }
+        for (int s = 0; s < argIndexes.length; s++) {
+            sb.append(literals[s]);
+            long value = switch (argIndexes[s]) {
+                case 0 -> a;
+                case 1 -> b;
+                default -> c;
+            };
+            appendPadded(sb, value, widths[s], zeroPads[s]);
+        }
+        return sb.append(literals[literals.length - 1]);
+    }
+
+    public String format(Object... args) {
+        return render(new StringBuilder(pattern.length() + 16), args).toString();
+    }
+
+    private static void appendPadded(StringBuilder sb, long value, int width, boolean zeroPad) {
+        int digits = value < 0 ? 1 : 0;
+        long rest = value;
+        do {
+            digits++;
+            rest /= 10;
+        } while (rest != 0);
+
+        if (value < 0 && zeroPad) {
+            sb.append('-');
+            for (int p = digits; p < width; p++) sb.append('0');
+            sb.append(-value);
+            return;
+        }
+        for (int p = digits; p < width; p++) sb.append(zeroPad ? '0' : ' ');
+        sb.append(value);
+    }
+
+    private static void appendPadded(StringBuilder sb, String value, int width) {
+        for (int p = value.length(); p < width; p++) sb.append(' ');
+        sb.append(value);
+    }
+}
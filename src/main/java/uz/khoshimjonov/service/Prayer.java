@@ -0,0 +1,41 @@
+package uz.khoshimjonov.service;
+
+/**
+ * The daily prayer boundaries, in chronological order.
+ * <p>
+ * Used as the key for all timing storage. Ordinals double as array indexes,
+ * localized names are looked up only when something is rendered.
+ */
+public enum Prayer {
+    FAJR("fajrTitle"),
+    SUNRISE("sunriseTitle"),
+    DHUHR("dhuhrTitle"),
+    ASR("asrTitle"),
+    MAGHRIB("maghribTitle"),
+    ISHA("ishaTitle");
+
+    private static final Prayer[] VALUES = values();
+
+    public static final int COUNT = VALUES.length;
+
+    private final String titleKey;
+
+    Prayer(String titleKey) {
+        this.titleKey = titleKey;
+    }
+
+    public String getTitleKey() {
+        return titleKey;
+    }
+
+    /**
+     * Localized name in the current UI language.
+     */
+    public String getTitle() {
+        return LanguageHelper.getText(titleKey);
+    }
+
+    public static Prayer of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -1,52 +1,119 @@
 package uz.khoshimjonov.service;
 
-import java.awt.*;
+import uz.khoshimjonov.service.notification.Notification;
+import uz.khoshimjonov.service.notification.NotificationDispatcher;
+
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.*;
 
 /**
- * Balanced prayer time notification scheduler.
+ * Prayer time notification scheduler.
  * <p>
  * Strategy:
- * - Uses coarse polling (every 30 seconds) most of the time
- * - Switches to fine polling (every 2 seconds) when within 2 minutes of a notification
- * - Falls back to immediate fire if notification was missed within grace period
+ * - Plans {@value #LOOKAHEAD_DAYS} days ahead from a {@link TimetableSource}, independently of the widget refresh
+ * - Arms a single one-shot timer for the earliest pending notification instead of polling
+ * - A coarse heartbeat (every 30 seconds) samples a {@link ClockWatch} to detect clock jumps and suspend/resume
+ * - On a jump the whole target queue is re-planned in one pass and missed notifications follow {@link MissedPolicy}
+ * - Fired targets are never re-armed, so a backward clock jump cannot produce a duplicate notification
  */
 public class PrayerTimeScheduler {
 
     private static volatile PrayerTimeScheduler instance;
 
-    private static final long COARSE_POLL_MS = 30_000;      // 30 seconds when idle
-    private static final long FINE_POLL_MS = 2_000;         // 2 seconds when notification is near
-    private static final long FINE_POLL_THRESHOLD_MS = 120_000; // Switch to fine polling 2 min before
+    private static final long HEARTBEAT_MS = 30_000;        // Clock-watch sampling interval
     private static final long GRACE_PERIOD_MS = 90_000;     // Fire if missed within 90 seconds
     private static final long FIRE_WINDOW_MS = 2_500;       // Fire when within 2.5 seconds of target
+    private static final long RETENTION_MS = 300_000;       // Keep finished targets for 5 minutes
+    private static final int LOOKAHEAD_DAYS = 7;            // Days planned in one batch
+    private static final int REPLAN_MARGIN_DAYS = 2;        // Plan again when fewer days remain
+    private static final DateTimeFormatter DEBUG_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss z");
+
+    /**
+     * Supplies prayer timings for a range of days, keyed by date.
+     */
+    @FunctionalInterface
+    public interface TimetableSource {
+        Map<LocalDate, Map<Prayer, LocalTime>> load(LocalDate from, int days) throws Exception;
+    }
+
+    /**
+     * What to do with notifications whose time passed while the app could not deliver them.
+     */
+    public enum MissedPolicy {
+        /** Drop every missed notification */
+        DROP_ALL,
+        /** Fire every notification missed by no more than the grace period */
+        FIRE_ALL_WITHIN_GRACE,
+        /** Fire only the most recent notification missed by no more than the grace period */
+        FIRE_LATEST_WITHIN_GRACE
+    }
 
     private final ScheduledExecutorService scheduler;
-    private final ConcurrentHashMap<String, NotificationTarget> targets;
+    private final ConcurrentHashMap<TargetKey, NotificationTarget> targets;
     private final ConfigurationManager configurationManager = ConfigurationManager.getInstance();
+
     private final DateTimeFormatter timeFmt = DateTimeFormatter.ofPattern("HH:mm");
+    private final ClockWatch clockWatch = new ClockWatch(HEARTBEAT_MS);
+    private final SchedulerDiagnostics diagnostics = new SchedulerDiagnostics();
+
+    private volatile NotificationDispatcher dispatcher;
+    private volatile TimetableSource source;
+    private volatile LocalDate plannedUntil;
+    private volatile MissedPolicy missedPolicy = MissedPolicy.FIRE_LATEST_WITHIN_GRACE;
+    private volatile ScheduledFuture<?> wakeTask;
+    private volatile ScheduledFuture<?> heartbeatTask;
+    private volatile Instant armedFor;
 
-    private volatile TrayIcon trayIcon;
-    private volatile ScheduledFuture<?> currentPollTask;
-    private volatile boolean isFinePollMode = false;
+    /**
+     * Identifies one notification: a prayer on a given day, before or on time.
+     */
+    private record TargetKey(LocalDate date, Prayer prayer, boolean onTime) {
+    }
 
     private static class NotificationTarget {
-        final String key;
+        final TargetKey key;
         final Instant targetTime;
-        final String title;
-        final String body;
+        final LocalTime prayerTime;
+        final int beforeMinutes;
         volatile boolean fired;
+        volatile boolean missed;
+        private String label;
 
-        NotificationTarget(String key, Instant targetTime, String title, String body) {
+        NotificationTarget(TargetKey key, Instant targetTime, LocalTime prayerTime, int beforeMinutes) {
             this.key = key;
             this.targetTime = targetTime;
-            this.title = title;
-            this.body = body;
+            this.prayerTime = prayerTime;
+            this.beforeMinutes = beforeMinutes;
             this.fired = false;
+            this.missed = false;
+        }
+
+        boolean isDone() {
+            return fired || missed;
+        }
+
+        /**
+         * Localized title, built when the notification is shown so it follows the current language.
+         */
+        String title() {
+            String prayerName = key.prayer().getTitle();
+            if (key.onTime()) {
+                return LanguageHelper.getTemplate("notificationTitle").format(prayerName);
+            }
+            return LanguageHelper.getTemplate("notificationBeforeMessage").format(beforeMinutes, prayerName);
+        }
+
+        /**
+         * Stable text used as the diagnostics subject, built once on first use.
+         */
+        String label() {
+            if (label == null) {
+                label = key.date() + " " + key.prayer() + (key.onTime() ? " on time" : " before");
+            }
+            return label;
         }
     }
 
@@ -58,6 +125,9 @@ public class PrayerTimeScheduler {
         };
         this.scheduler = Executors.newSingleThreadScheduledExecutor(tf);
         this.targets = new ConcurrentHashMap<>();
+        configurationManager.addListener(change -> {
+            if (source != null) invalidate();
+        }, ConfigChange.Aspect.TIMETABLE, ConfigChange.Aspect.NOTIFICATIONS);
     }
 
     public static PrayerTimeScheduler getInstance() {
@@ -71,188 +141,275 @@ public class PrayerTimeScheduler {
         return instance;
     }
 
-    public void checkAndNotifyPrayerTimes(Map<String, LocalTime> timings, TrayIcon trayIcon) {
-        this.trayIcon = trayIcon;
+    public void setMissedPolicy(MissedPolicy missedPolicy) {
+        this.missedPolicy = missedPolicy;
+    }
+
+    /**
+     * Starts planning notifications from the given timetable source.
+     * The scheduler plans {@value #LOOKAHEAD_DAYS} days ahead on its own thread and
+     * re-plans when fewer than {@value #REPLAN_MARGIN_DAYS} planned days remain.
+     */
+    public void start(TimetableSource source, NotificationDispatcher dispatcher) {
+        this.source = source;
+        this.dispatcher = dispatcher;
+        startHeartbeat();
+        scheduler.execute(this::planAhead);
+    }
+
+    /**
+     * Replaces the notification outputs, e.g. after the configured sinks changed.
+     * The previous dispatcher is shut down.
+     */
+    public void setDispatcher(NotificationDispatcher dispatcher) {
+        NotificationDispatcher previous = this.dispatcher;
+        this.dispatcher = dispatcher;
+        if (previous != null && previous != dispatcher) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * Discards the current plan and plans again. Called automatically when timetable or
+     * notification settings change.
+     */
+    public void invalidate() {
+        plannedUntil = null;
+        scheduler.execute(this::planAhead);
+    }
+
+    private void planAhead() {
+        TimetableSource source = this.source;
+        if (source == null) return;
 
         try {
             LocalDate today = LocalDate.now();
-            ZoneId zone = ZoneId.systemDefault();
-
-            // Clean obsolete targets
-            Set<String> validNames = timings.keySet();
-            targets.keySet().removeIf(key -> {
-                String base = key.contains("#") ? key.substring(0, key.indexOf('#')) : key;
-                return !validNames.contains(base);
-            });
+            Map<LocalDate, Map<Prayer, LocalTime>> timetable = source.load(today, LOOKAHEAD_DAYS);
 
-            // Register targets
-            for (Map.Entry<String, LocalTime> entry : timings.entrySet()) {
-                registerTargets(entry.getKey(), entry.getValue(), today, zone);
+            ZoneId zone = ZoneId.systemDefault();
+            ConfigSnapshot config = configurationManager.getSnapshot();
+            int beforeMinutes = Math.max(0, config.notificationBeforeMinutes());
+            boolean notifyBefore = config.notifyBefore();
+            boolean notifyOnTime = config.notifyOnTime();
+            Instant cutoff = Instant.now().minus(Duration.ofMillis(GRACE_PERIOD_MS));
+
+            Map<TargetKey, NotificationTarget> planned = new HashMap<>();
+            LocalDate lastDate = null;
+            for (Map.Entry<LocalDate, Map<Prayer, LocalTime>> day : timetable.entrySet()) {
+                for (Map.Entry<Prayer, LocalTime> entry : day.getValue().entrySet()) {
+                    registerTargets(planned, entry.getKey(), entry.getValue(), day.getKey(), zone,
+                            notifyBefore ? beforeMinutes : 0, notifyOnTime, cutoff);
+                }
+                lastDate = day.getKey();
             }
 
-            // Start or adjust polling
-            adjustPollingMode();
+            // Keep already known targets (and their fired state) if unchanged, drop everything else
+            targets.keySet().retainAll(planned.keySet());
+            for (NotificationTarget target : planned.values()) {
+                NotificationTarget existing = targets.get(target.key);
+                if (existing == null || !existing.targetTime.equals(target.targetTime)
+                        || existing.beforeMinutes != target.beforeMinutes) {
+                    targets.put(target.key, target);
+                }
+            }
+            plannedUntil = lastDate;
 
+            replan();
         } catch (Exception e) {
+            plannedUntil = null; // Retry on next heartbeat
             e.printStackTrace();
         }
     }
 
-    private void registerTargets(String prayerName, LocalTime prayerTime, LocalDate date, ZoneId zone) {
-        int beforeMinutes = Math.max(0, configurationManager.getNotificationBeforeMinutes());
-        boolean notifyBefore = configurationManager.isNotifyBefore();
-        boolean notifyOnTime = configurationManager.isNotifyOnTime();
-
+    private void registerTargets(Map<TargetKey, NotificationTarget> planned, Prayer prayer, LocalTime prayerTime,
+                                 LocalDate date, ZoneId zone, int beforeMinutes, boolean notifyOnTime, Instant cutoff) {
         Instant prayerInstant = ZonedDateTime.of(date, prayerTime, zone).toInstant();
-        Instant now = Instant.now();
-        Instant cutoff = now.minus(Duration.ofMillis(GRACE_PERIOD_MS));
 
         // Before notification
-        String beforeKey = prayerName + "#before";
-        if (notifyBefore && beforeMinutes > 0) {
+        if (beforeMinutes > 0) {
             Instant beforeInstant = prayerInstant.minus(Duration.ofMinutes(beforeMinutes));
             if (beforeInstant.isAfter(cutoff)) {
-                NotificationTarget existing = targets.get(beforeKey);
-                if (existing == null || !existing.targetTime.equals(beforeInstant)) {
-                    String title = String.format(
-                            LanguageHelper.getText("notificationBeforeMessage"),
-                            beforeMinutes, prayerName
-                    );
-                    targets.put(beforeKey, new NotificationTarget(
-                            beforeKey, beforeInstant, title, prayerTime.format(timeFmt)
-                    ));
-                }
+                TargetKey beforeKey = new TargetKey(date, prayer, false);
+                planned.put(beforeKey, new NotificationTarget(beforeKey, beforeInstant, prayerTime, beforeMinutes));
             }
-        } else {
-            targets.remove(beforeKey);
         }
 
         // On-time notification
-        String onTimeKey = prayerName + "#ontime";
         if (notifyOnTime && prayerInstant.isAfter(cutoff)) {
-            NotificationTarget existing = targets.get(onTimeKey);
-            if (existing == null || !existing.targetTime.equals(prayerInstant)) {
-                String title = String.format(
-                        LanguageHelper.getText("notificationTitle"), prayerName
-                );
-                targets.put(onTimeKey, new NotificationTarget(
-                        onTimeKey, prayerInstant, title, prayerTime.format(timeFmt)
-                ));
-            }
-        } else if (!notifyOnTime) {
-            targets.remove(onTimeKey);
+            TargetKey onTimeKey = new TargetKey(date, prayer, true);
+            planned.put(onTimeKey, new NotificationTarget(onTimeKey, prayerInstant, prayerTime, 0));
         }
     }
 
-    private synchronized void adjustPollingMode() {
-        long nextTargetMs = getMillisToNextTarget();
-        boolean needFinePoll = nextTargetMs >= 0 && nextTargetMs <= FINE_POLL_THRESHOLD_MS;
-
-        if (needFinePoll && !isFinePollMode) {
-            switchToFinePoll();
-        } else if (!needFinePoll && isFinePollMode) {
-            switchToCoarsePoll();
-        } else if (currentPollTask == null || currentPollTask.isDone()) {
-            // Start polling if not running
-            if (needFinePoll) {
-                switchToFinePoll();
-            } else {
-                switchToCoarsePoll();
-            }
+    private synchronized void startHeartbeat() {
+        if (heartbeatTask == null || heartbeatTask.isDone()) {
+            clockWatch.reset();
+            heartbeatTask = scheduler.scheduleAtFixedRate(
+                    this::heartbeat, HEARTBEAT_MS, HEARTBEAT_MS, TimeUnit.MILLISECONDS
+            );
         }
     }
 
-    private void switchToFinePoll() {
-        cancelCurrentTask();
-        isFinePollMode = true;
-        currentPollTask = scheduler.scheduleAtFixedRate(
-                this::poll, 0, FINE_POLL_MS, TimeUnit.MILLISECONDS
-        );
+    private void heartbeat() {
+        try {
+            ClockWatch.Event event = clockWatch.sample();
+            LocalDate planned = plannedUntil;
+            if (event != ClockWatch.Event.NONE) {
+                diagnostics.record(SchedulerDiagnostics.EventType.CLOCK_JUMP, event.name(), clockWatch.getLastDriftMs());
+                // The pending timer counts monotonic time from before the jump, re-arm it from the wall clock
+                disarm();
+                planAhead();
+            } else if (planned == null || LocalDate.now().plusDays(REPLAN_MARGIN_DAYS).isAfter(planned)) {
+                planAhead();
+            } else if (wakeTask == null || wakeTask.isDone()) {
+                armNext();
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
     }
 
-    private void switchToCoarsePoll() {
-        cancelCurrentTask();
-        isFinePollMode = false;
-        currentPollTask = scheduler.scheduleAtFixedRate(
-                this::poll, 0, COARSE_POLL_MS, TimeUnit.MILLISECONDS
-        );
+    /**
+     * Walks the whole queue once: settles every due target according to the missed policy,
+     * drops finished targets past retention and re-arms the wake timer for the next pending one.
+     */
+    private void replan() {
+        try {
+            processDue(Instant.now());
+            armNext();
+            diagnostics.record(SchedulerDiagnostics.EventType.REPLAN, null, pendingCount());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
     }
 
-    private void cancelCurrentTask() {
-        if (currentPollTask != null && !currentPollTask.isDone()) {
-            currentPollTask.cancel(false);
+    private void onWake() {
+        try {
+            armedFor = null;
+            processDue(Instant.now());
+            armNext();
+        } catch (Exception e) {
+            e.printStackTrace();
         }
     }
 
-    private long getMillisToNextTarget() {
-        Instant now = Instant.now();
-        long minMs = Long.MAX_VALUE;
+    private void processDue(Instant now) {
+        NotificationDispatcher dispatcher = this.dispatcher;
+        if (dispatcher == null) return;
+
+        MissedPolicy policy = this.missedPolicy;
+        NotificationTarget latestMissed = null;
 
         for (NotificationTarget target : targets.values()) {
-            if (!target.fired) {
-                long ms = Duration.between(now, target.targetTime).toMillis();
-                if (ms > -GRACE_PERIOD_MS && ms < minMs) {
-                    minMs = ms;
+            if (target.isDone()) continue;
+
+            long diffMs = Duration.between(now, target.targetTime).toMillis();
+            if (diffMs > FIRE_WINDOW_MS) continue;
+
+            boolean onTime = diffMs >= -FIRE_WINDOW_MS;
+            boolean withinGrace = diffMs >= -GRACE_PERIOD_MS;
+
+            if (onTime) {
+                fire(target, dispatcher, now);
+            } else if (!withinGrace || policy == MissedPolicy.DROP_ALL) {
+                markMissed(target, now);
+            } else if (policy == MissedPolicy.FIRE_ALL_WITHIN_GRACE) {
+                fire(target, dispatcher, now);
+            } else {
+                if (latestMissed == null || target.targetTime.isAfter(latestMissed.targetTime)) {
+                    if (latestMissed != null) markMissed(latestMissed, now);
+                    latestMissed = target;
+                } else {
+                    markMissed(target, now);
                 }
             }
         }
 
-        return minMs == Long.MAX_VALUE ? -1 : minMs;
-    }
+        if (latestMissed != null) {
+            fire(latestMissed, dispatcher, now);
+        }
 
-    private void poll() {
-        try {
-            Instant now = Instant.now();
-            TrayIcon icon = this.trayIcon;
-            if (icon == null) return;
+        // Cleanup old targets
+        Instant cutoff = now.minus(Duration.ofMillis(RETENTION_MS));
+        targets.entrySet().removeIf(e ->
+                e.getValue().isDone() && e.getValue().targetTime.isBefore(cutoff)
+        );
+    }
 
-            for (NotificationTarget target : targets.values()) {
-                if (target.fired) continue;
+    private synchronized void armNext() {
+        Instant next = null;
+        for (NotificationTarget target : targets.values()) {
+            if (!target.isDone() && (next == null || target.targetTime.isBefore(next))) {
+                next = target.targetTime;
+            }
+        }
 
-                long diffMs = Duration.between(now, target.targetTime).toMillis();
+        if (next == null) {
+            cancelWakeTask();
+            armedFor = null;
+            return;
+        }
+        if (next.equals(armedFor) && wakeTask != null && !wakeTask.isDone()) {
+            return;
+        }
 
-                // Fire if within window or just missed (within grace period)
-                if (diffMs <= FIRE_WINDOW_MS && diffMs >= -GRACE_PERIOD_MS) {
-                    fire(target, icon);
-                }
-            }
+        cancelWakeTask();
+        long delayMs = Math.max(0, Duration.between(Instant.now(), next).toMillis());
+        armedFor = next;
+        wakeTask = scheduler.schedule(this::onWake, delayMs, TimeUnit.MILLISECONDS);
+        diagnostics.record(SchedulerDiagnostics.EventType.ARM, null, delayMs);
+    }
 
-            // Adjust polling mode after checking
-            adjustPollingMode();
+    private int pendingCount() {
+        int count = 0;
+        for (NotificationTarget target : targets.values()) {
+            if (!target.isDone()) count++;
+        }
+        return count;
+    }
 
-            // Cleanup old targets
-            Instant cutoff = now.minus(Duration.ofMinutes(5));
-            targets.entrySet().removeIf(e ->
-                    e.getValue().fired && e.getValue().targetTime.isBefore(cutoff)
-            );
+    private void markMissed(NotificationTarget target, Instant now) {
+        target.missed = true;
+        diagnostics.record(SchedulerDiagnostics.EventType.MISS, target.label(), now.toEpochMilli() - target.targetTime.toEpochMilli());
+    }
 
-            System.out.println(getDebugInfo());
+    private synchronized void disarm() {
+        cancelWakeTask();
+        armedFor = null;
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+    private void cancelWakeTask() {
+        if (wakeTask != null && !wakeTask.isDone()) {
+            wakeTask.cancel(false);
         }
     }
 
-    private void fire(NotificationTarget target, TrayIcon icon) {
-        if (target.fired) return;
+    /**
+     * Hands the notification to the sinks. Delivery happens on the sinks' own threads,
+     * so this never blocks the timing thread; per-sink failures show up in the sink statistics.
+     */
+    private void fire(NotificationTarget target, NotificationDispatcher dispatcher, Instant now) {
+        if (target.isDone()) return;
 
         synchronized (target) {
-            if (target.fired) return;
+            if (target.isDone()) return;
             target.fired = true;
         }
 
-        try {
-            icon.displayMessage(target.title, target.body, TrayIcon.MessageType.INFO);
-        } catch (Exception e) {
-            target.fired = false; // Allow retry
-            e.printStackTrace();
-        }
+        dispatcher.publish(new Notification(target.title(), target.prayerTime.format(timeFmt), target.targetTime));
+        diagnostics.record(SchedulerDiagnostics.EventType.FIRE, target.label(), now.toEpochMilli() - target.targetTime.toEpochMilli());
     }
 
     public void shutdown() {
         try {
-            cancelCurrentTask();
+            cancelWakeTask();
+            if (heartbeatTask != null) {
+                heartbeatTask.cancel(false);
+            }
             targets.clear();
+            if (dispatcher != null) {
+                dispatcher.shutdown();
+            }
             scheduler.shutdown();
             if (!scheduler.awaitTermination(3, TimeUnit.SECONDS)) {
                 scheduler.shutdownNow();
@@ -263,19 +420,21 @@ public class PrayerTimeScheduler {
     }
 
     /**
-     * Returns current scheduler state for debugging.
+     * Returns current scheduler state and the recent event history for debugging.
+     * Rendered on demand only, nothing is logged from the scheduler thread.
      */
     public String getDebugInfo() {
         StringBuilder sb = new StringBuilder();
         Instant now = Instant.now();
         ZoneId zone = ZoneId.systemDefault();
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss z");
 
         sb.append("=== PrayerTimeScheduler Debug ===\n");
-        sb.append("Time: ").append(ZonedDateTime.now(zone).format(fmt)).append("\n");
+        sb.append("Time: ").append(ZonedDateTime.now(zone).format(DEBUG_FMT)).append("\n");
         sb.append("Zone: ").append(zone).append("\n");
-        sb.append("Poll Mode: ").append(isFinePollMode ? "FINE (2s)" : "COARSE (30s)").append("\n");
-        sb.append("Poll Task Active: ").append(currentPollTask != null && !currentPollTask.isDone()).append("\n");
+        sb.append("Planned Until: ").append(plannedUntil == null ? "-" : plannedUntil).append("\n");
+        sb.append("Missed Policy: ").append(missedPolicy).append("\n");
+        sb.append("Armed For: ").append(armedFor == null ? "-" : armedFor.atZone(zone).format(DEBUG_FMT)).append("\n");
+        sb.append("Last Clock Drift: ").append(clockWatch.getLastDriftMs()).append(" ms\n");
         sb.append("Targets: ").append(targets.size()).append("\n\n");
 
         if (targets.isEmpty()) {
@@ -288,9 +447,11 @@ public class PrayerTimeScheduler {
                 String status;
                 if (target.fired) {
                     status = "FIRED";
+                } else if (target.missed) {
+                    status = "MISSED";
                 } else if (diffMs < 0) {
                     status = "OVERDUE by " + Math.abs(diffSec) + "s";
-                } else if (diffMs < FINE_POLL_THRESHOLD_MS) {
+                } else if (diffMs < HEARTBEAT_MS * 4) {
                     status = "SOON in " + diffSec + "s";
                 } else {
                     long minutes = diffSec / 60;
@@ -299,13 +460,18 @@ public class PrayerTimeScheduler {
 
                 ZonedDateTime localTarget = target.targetTime.atZone(zone);
 
-                sb.append(String.format("  [%s] %s%n", status, target.key));
-                sb.append(String.format("       Target: %s%n", localTarget.format(fmt)));
-                sb.append(String.format("       Title: %s%n", target.title));
+                sb.append(String.format("  [%s] %s%n", status, target.label()));
+                sb.append(String.format("       Target: %s%n", localTarget.format(DEBUG_FMT)));
+                sb.append(String.format("       Title: %s%n", target.title()));
                 sb.append("\n");
             }
         }
 
+        NotificationDispatcher dispatcher = this.dispatcher;
+        if (dispatcher != null) {
+            dispatcher.render(sb);
+        }
+        diagnostics.render(sb);
         return sb.toString();
     }
 }
\ No newline at end of file
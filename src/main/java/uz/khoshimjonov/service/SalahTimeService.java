@@ -6,120 +6,220 @@ import uz.khoshimjonov.dto.*;
 
 import java.awt.*;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Getter
 public class SalahTimeService {
+    private static final Color WARNING_COLOR = new Color(185, 73, 58);
+    private static final int WIDGET_TEXT_TITLE = LanguageHelper.keyId("widgetTextTitle");
+    private static final int REMAINING_TITLE = LanguageHelper.keyId("remainingTitle");
+
     private final ConfigurationManager configurationManager = ConfigurationManager.getInstance();
-    private final PrayerTimeScheduler prayerTimeScheduler = PrayerTimeScheduler.getInstance();
-    private final Map<String, LocalTime> timings;
     private final DateTimeFormatter formatter;
     private final Api api;
-    private LocalTime tomorrowFajr;
-    private LocalDate currentDate;
-    private Hijri hijriDate;
+    private final Map<LocalDate, Map<Prayer, LocalTime>> timetableCache = new HashMap<>();
+    private String timetableSignature = "";
+    private volatile TimetableRefresher refresher;
+    private final AtomicReference<TimingsSnapshot> snapshot = new AtomicReference<>(TimingsSnapshot.EMPTY);
+    private final AtomicLong snapshotVersion = new AtomicLong();
+    private volatile boolean refreshFailed;
+    private DayPlan titlePlan;
+    private int titleIndex = -1;
+    private String nextSalahTitle;
+    private final StringBuilder remainingText = new StringBuilder(32);
 
     public SalahTimeService() {
         api = new Api();
         formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-        currentDate = LocalDate.now();
-        timings = new LinkedHashMap<>();
     }
 
-    public WidgetTextDto getWidgetText(TrayIcon trayIcon) {
+    /**
+     * Returns the latest published timings. Safe to call from any thread, never blocks.
+     */
+    public TimingsSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    public synchronized void start() {
+        if (refresher != null) {
+            return;
+        }
+        refresher = new TimetableRefresher(this);
+        // A new plan also drops the cached widget title, so language changes go through the same path
+        configurationManager.addListener(change -> refresher.requestRefresh(),
+                ConfigChange.Aspect.TIMETABLE, ConfigChange.Aspect.LANGUAGE);
+        refresher.requestRefresh();
+    }
+
+    public void shutdown() {
+        TimetableRefresher current = refresher;
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+
+    /**
+     * Builds the widget text from the published plan. Never performs I/O: an outdated plan only
+     * brings the refresher's scheduled run forward if the wall clock says it is overdue.
+     */
+    public WidgetTextDto getWidgetText() {
         try {
-            LocalTime currentTime = LocalTime.now();
-            getTimingsIfNeeded(trayIcon);
-            if (timings.get(title("ishaTitle")).isBefore(currentTime)){
-                LocalDateTime tomorrow = LocalDateTime.of(LocalDate.now().plusDays(1), tomorrowFajr);
-                LocalDateTime today = LocalDateTime.now();
-                return getResultText(today.until(tomorrow, ChronoUnit.SECONDS), title("fajrTitle"), tomorrowFajr);
-            } else {
-                for (Map.Entry<String, LocalTime> entry : timings.entrySet()) {
-                    if (currentTime.isBefore(entry.getValue())) {
-                        LocalTime nextPrayerTime = entry.getValue();
-                        return getResultText(currentTime.until(nextPrayerTime, ChronoUnit.SECONDS), entry.getKey(), entry.getValue());
-                    }
-                }
+            long now = System.currentTimeMillis() / 1000;
+            DayPlan plan = snapshot.get().plan();
+            TimetableRefresher current = refresher;
+            if (plan != null && !plan.isValidAt(now) && current != null) {
+                current.requestRefreshIfDue();
+            }
+
+            if (plan == null) {
+                String text = refreshFailed ? LanguageHelper.getText("cantGetTitle") : LanguageHelper.getText("loadingTitle");
+                return new WidgetTextDto(text, "", refreshFailed ? WARNING_COLOR : Color.WHITE);
+            }
+
+            int next = plan.nextIndex(now);
+            if (next >= 0) {
+                return getResultText(plan, next, plan.secondsUntil(next, now));
             }
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return new WidgetTextDto(LanguageHelper.getText("cantGetTitle"), "", new Color(185, 73, 58));
+        return new WidgetTextDto(LanguageHelper.getText("cantGetTitle"), "", WARNING_COLOR);
     }
 
-    private void getTimingsIfNeeded(TrayIcon trayIcon) throws Exception {
+    /**
+     * Loads today and the following days and publishes a new plan. Runs on the refresher thread.
+     */
+    void refreshPlan(int days) throws Exception {
         LocalDate realDate = LocalDate.now();
-        if (configurationManager.apiSettingsUpdated || !currentDate.equals(realDate) || timings.isEmpty()){
-            currentDate = realDate;
-            timings.clear();
-
-            PrayerTimesResponse prayerTimes = getPrayerTimes(currentDate, configurationManager.getSchool(), configurationManager.getMethod(), configurationManager.getLatitude(), configurationManager.getLongitude(),  configurationManager.getElevation());
-            PrayerTimesResponse tomorrowPrayerTimes = getPrayerTimes(currentDate.plusDays(1), configurationManager.getSchool(), configurationManager.getMethod(), configurationManager.getLatitude(), configurationManager.getLongitude(),  configurationManager.getElevation());
-            if (prayerTimes == null || tomorrowPrayerTimes == null){
-                throw new RuntimeException();
+        Map<LocalDate, Map<Prayer, LocalTime>> timetable = loadTimetable(realDate, Math.max(2, days));
+        Map<Prayer, LocalTime> todaysTimings = timetable.get(realDate);
+        Map<Prayer, LocalTime> tomorrowTimings = timetable.get(realDate.plusDays(1));
+        if (todaysTimings == null || tomorrowTimings == null){
+            throw new RuntimeException();
+        }
+
+        DayPlan plan = DayPlan.of(realDate, todaysTimings, tomorrowTimings, ZoneId.systemDefault());
+        snapshot.set(TimingsSnapshot.of(snapshotVersion.incrementAndGet(), realDate, todaysTimings, plan));
+        refreshFailed = false;
+    }
+
+    void markRefreshFailed() {
+        refreshFailed = true;
+    }
+
+    /**
+     * Returns timings for {@code days} consecutive days starting at {@code from}, keyed by date.
+     * Missing days are fetched in one batch: a single calculator run, or one API calendar call per month.
+     * Results are cached until location, method, school or source change; days before {@code from} are dropped.
+     */
+    public Map<LocalDate, Map<Prayer, LocalTime>> loadTimetable(LocalDate from, int days) throws Exception {
+        String signature = settingsSignature();
+        synchronized (timetableCache) {
+            if (!signature.equals(timetableSignature)) {
+                timetableCache.clear();
+                timetableSignature = signature;
+            }
+            timetableCache.keySet().removeIf(date -> date.isBefore(from));
+
+            LocalDate end = from.plusDays(days);
+            boolean complete = true;
+            for (LocalDate date = from; date.isBefore(end); date = date.plusDays(1)) {
+                if (!timetableCache.containsKey(date)) {
+                    complete = false;
+                    break;
+                }
+            }
+            if (!complete) {
+                fetchTimetable(from, days);
             }
 
-            Timings tomorrowTimings = tomorrowPrayerTimes.getData().getTimings();
-            tomorrowFajr = LocalTime.parse(tomorrowTimings.getFajr());
-
-            Timings todaysTimings = prayerTimes.getData().getTimings();
-            timings.put(title("fajrTitle"), LocalTime.parse(todaysTimings.getFajr()));
-            timings.put(title("sunriseTitle"), LocalTime.parse(todaysTimings.getSunrise()));
-            timings.put(title("dhuhrTitle"), LocalTime.parse(todaysTimings.getDhuhr()));
-            timings.put(title("asrTitle"), LocalTime.parse(todaysTimings.getAsr()));
-            timings.put(title("maghribTitle"), LocalTime.parse(todaysTimings.getMaghrib()));
-            timings.put(title("ishaTitle"), LocalTime.parse(todaysTimings.getIsha()));
-            hijriDate = prayerTimes.getData().getDate().getHijri();
-            configurationManager.apiSettingsUpdated = false;
-            prayerTimeScheduler.checkAndNotifyPrayerTimes(timings, trayIcon);
+            Map<LocalDate, Map<Prayer, LocalTime>> result = new LinkedHashMap<>();
+            for (LocalDate date = from; date.isBefore(end); date = date.plusDays(1)) {
+                Map<Prayer, LocalTime> dayTimings = timetableCache.get(date);
+                if (dayTimings != null) {
+                    result.put(date, dayTimings);
+                }
+            }
+            return result;
         }
     }
 
-    private String title(String key) {
-        return LanguageHelper.getText(key);
+    private String settingsSignature() {
+        ConfigSnapshot config = configurationManager.getSnapshot();
+        return config.useApi() + "|" + config.method() + "|" + config.school() + "|"
+                + config.latitude() + "|" + config.longitude() + "|" + config.elevation();
     }
 
-    private WidgetTextDto getResultText(long remaining, String Salah, LocalTime time) {
-        long hours = remaining / 3600;
-        long minutes = (remaining % 3600) / 60;
-        long seconds = remaining % 60;
-        Color color = remaining > 1800 ? Color.WHITE : new Color(185, 73, 58);
-        return new WidgetTextDto(String.format(title("widgetTextTitle"), Salah, time), String.format(title("remainingTitle"), hours, minutes, seconds), color);
-    }
+    private void fetchTimetable(LocalDate from, int days) throws Exception {
+        ConfigSnapshot config = configurationManager.getSnapshot();
+        int school = config.school();
+        int method = config.method();
+        double latitude = config.latitude();
+        double longitude = config.longitude();
 
-    private PrayerTimesResponse getPrayerTimes(LocalDate date, int school, int method, double latitude, double longitude, double elevation) throws Exception {
-        boolean useApi = configurationManager.getUseApi();
-        if (useApi) {
-            return api.getSalahTimes(date.format(formatter), school, method, String.valueOf(latitude), String.valueOf(longitude));
+        if (config.useApi()) {
+            YearMonth last = YearMonth.from(from.plusDays(days - 1));
+            for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+                PrayerCalendarResponse calendar = api.getSalahCalendar(month.getYear(), month.getMonthValue(), school, method, String.valueOf(latitude), String.valueOf(longitude));
+                if (calendar == null || calendar.getData() == null) {
+                    throw new RuntimeException();
+                }
+                for (Data data : calendar.getData()) {
+                    LocalDate date = LocalDate.parse(data.getDate().getGregorian().getDate(), formatter);
+                    timetableCache.put(date, toTimingsMap(data.getTimings()));
+                }
+            }
         } else {
-            SalahTimesCalculator.Coordinates tashkent = new SalahTimesCalculator.Coordinates(latitude, longitude, elevation, ZoneId.systemDefault());
+            SalahTimesCalculator.Coordinates coordinates = new SalahTimesCalculator.Coordinates(latitude, longitude, config.elevation(), ZoneId.systemDefault());
             SalahTimesCalculator.CalculationMethod calculationMethod = SalahTimesCalculator.CalculationMethod.getByCode(method);
             SalahTimesCalculator.AsrMethod methodOfAsr = SalahTimesCalculator.AsrMethod.getByCode(school);
-            SalahTimesCalculator calculations = new SalahTimesCalculator(tashkent, calculationMethod, methodOfAsr);
-            HijriDate hijriDate = HijriDate.fromGregorian(date);
-
-            Timings timings = Timings.fromCalculation(calculations.calculate(date));
-            Hijri hijriDateDto = new Hijri();
-            Month month = new Month();
-            month.setEn(hijriDate.getMonthName(configurationManager.getUserLanguage()));
-            hijriDateDto.setYear(String.valueOf(hijriDate.getYear()));
-            hijriDateDto.setDay(String.valueOf(hijriDate.getDay()));
-            hijriDateDto.setMonth(month);
-            Date dateDto = new Date();
-            dateDto.setHijri(hijriDateDto);
-            Data data = new Data();
-            data.setTimings(timings);
-            data.setDate(dateDto);
-            PrayerTimesResponse prayerTimesResponse = new PrayerTimesResponse();
-            prayerTimesResponse.setData(data);
-            return prayerTimesResponse;
+            SalahTimesCalculator calculations = new SalahTimesCalculator(coordinates, calculationMethod, methodOfAsr);
+
+            for (SalahTimesCalculator.PrayerTimes prayerTimes : calculations.calculateRange(from, days)) {
+                timetableCache.put(prayerTimes.date, toTimingsMap(Timings.fromCalculation(prayerTimes)));
+            }
         }
     }
+
+    private Map<Prayer, LocalTime> toTimingsMap(Timings dayTimings) {
+        Map<Prayer, LocalTime> map = new EnumMap<>(Prayer.class);
+        map.put(Prayer.FAJR, parseTime(dayTimings.getFajr()));
+        map.put(Prayer.SUNRISE, parseTime(dayTimings.getSunrise()));
+        map.put(Prayer.DHUHR, parseTime(dayTimings.getDhuhr()));
+        map.put(Prayer.ASR, parseTime(dayTimings.getAsr()));
+        map.put(Prayer.MAGHRIB, parseTime(dayTimings.getMaghrib()));
+        map.put(Prayer.ISHA, parseTime(dayTimings.getIsha()));
+        return map;
+    }
+
+    // Calendar API appends the zone abbreviation: "05:39 (+05)"
+    private static LocalTime parseTime(String value) {
+        return LocalTime.parse(value.length() > 5 ? value.substring(0, 5) : value);
+    }
+
+    private synchronized WidgetTextDto getResultText(DayPlan plan, int next, long remaining) {
+        // The title only changes when the next prayer does
+        if (plan != titlePlan || next != titleIndex) {
+            nextSalahTitle = LanguageHelper.getTemplate(WIDGET_TEXT_TITLE).format(plan.getPrayer(next).getTitle(), plan.getTime(next));
+            titlePlan = plan;
+            titleIndex = next;
+        }
+        long hours = remaining / 3600;
+        long minutes = (remaining % 3600) / 60;
+        long seconds = remaining % 60;
+        Color color = remaining > 1800 ? Color.WHITE : WARNING_COLOR;
+
+        remainingText.setLength(0);
+        LanguageHelper.getTemplate(REMAINING_TITLE).render(remainingText, hours, minutes, seconds);
+        return new WidgetTextDto(nextSalahTitle, remainingText.toString(), color);
+    }
 }
@@ -341,6 +341,16 @@ public class SalahTimesCalculator {
         return result;
     }
 
+    public List<PrayerTimes> calculateRange(LocalDate start, int days) {
+        List<PrayerTimes> result = new ArrayList<>(days);
+        LocalDate date = start;
+        for (int i = 0; i < days; i++) {
+            result.add(calculate(date));
+            date = date.plusDays(1);
+        }
+        return result;
+    }
+
     public List<PrayerTimes> calculateYear(int year) {
         List<PrayerTimes> result = new ArrayList<>();
         LocalDate date = LocalDate.of(year, 1, 1);
@@ -0,0 +1,96 @@
+package uz.khoshimjonov.service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Fixed-size ring buffer of structured scheduler events.
+ * <p>
+ * Events are stored in parallel primitive arrays, recording never allocates.
+ * Repeats of the same event for the same subject within {@link #RATE_LIMIT_MS}
+ * collapse into the previous slot and only bump its repeat counter.
+ * Text is produced only when {@link #render(StringBuilder)} is called.
+ */
+public class SchedulerDiagnostics {
+
+    private static final int CAPACITY = 256;
+    private static final long RATE_LIMIT_MS = 1_000;
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public enum EventType {
+        ARM,        // value: delay until wake-up, ms
+        FIRE,       // value: lateness, ms
+        MISS,       // value: lateness, ms
+        REPLAN,     // value: pending targets after re-plan
+        CLOCK_JUMP  // value: wall minus monotonic drift, ms
+    }
+
+    private static final EventType[] TYPES = EventType.values();
+
+    private final long[] wallMs = new long[CAPACITY];
+    private final byte[] types = new byte[CAPACITY];
+    private final long[] values = new long[CAPACITY];
+    private final int[] repeats = new int[CAPACITY];
+    private final String[] subjects = new String[CAPACITY];
+
+    private int head;   // next slot to write
+    private int size;
+    private long maxLatenessMs;
+    private long firedCount;
+    private long missedCount;
+
+    public synchronized void record(EventType type, String subject, long value) {
+        long now = System.currentTimeMillis();
+
+        if (type == EventType.FIRE) {
+            firedCount++;
+            maxLatenessMs = Math.max(maxLatenessMs, value);
+        } else if (type == EventType.MISS) {
+            missedCount++;
+        }
+
+        if (size > 0) {
+            int last = (head - 1 + CAPACITY) % CAPACITY;
+            if (types[last] == type.ordinal() && subjects[last] == subject && now - wallMs[last] < RATE_LIMIT_MS) {
+                repeats[last]++;
+                values[last] = value;
+                return;
+            }
+        }
+
+        wallMs[head] = now;
+        types[head] = (byte) type.ordinal();
+        values[head] = value;
+        repeats[head] = 0;
+        subjects[head] = subject;
+        head = (head + 1) % CAPACITY;
+        if (size < CAPACITY) size++;
+    }
+
+    /**
+     * Appends all buffered events, oldest first.
+     */
+    public synchronized void render(StringBuilder sb) {
+        ZoneId zone = ZoneId.systemDefault();
+        sb.append("Fired: ").append(firedCount)
+                .append(", Missed: ").append(missedCount)
+                .append(", Max lateness: ").append(maxLatenessMs).append(" ms\n");
+        sb.append("Events (").append(size).append('/').append(CAPACITY).append("):\n");
+
+        int start = (head - size + CAPACITY) % CAPACITY;
+        for (int i = 0; i < size; i++) {
+            int slot = (start + i) % CAPACITY;
+            sb.append("  ").append(TIME_FMT.format(Instant.ofEpochMilli(wallMs[slot]).atZone(zone)))
+                    .append(' ').append(TYPES[types[slot]]);
+            if (subjects[slot] != null) {
+                sb.append(' ').append(subjects[slot]);
+            }
+            sb.append(" value=").append(values[slot]);
+            if (repeats[slot] > 0) {
+                sb.append(" (x").append(repeats[slot] + 1).append(')');
+            }
+            sb.append('\n');
+        }
+    }
+}
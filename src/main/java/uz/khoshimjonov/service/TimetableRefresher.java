@@ -0,0 +1,109 @@
+package uz.khoshimjonov.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the widget's timetable fresh in the background.
+ * <p>
+ * Strategy:
+ * - Prefetches {@value #PREFETCH_DAYS} days, so the next day is already cached when midnight comes
+ * - Runs right after local midnight and whenever a refresh is requested (settings change)
+ * - Retries failed loads with exponential backoff
+ * <p>
+ * All network and calculation work happens on the refresher thread; the widget tick only reads
+ * the published result.
+ */
+public class TimetableRefresher {
+
+    private static final int PREFETCH_DAYS = 3;
+    private static final long MIDNIGHT_OFFSET_MS = 1_000;    // Run just after the date changes
+    private static final long MIN_RETRY_MS = 30_000;
+    private static final long MAX_RETRY_MS = 600_000;
+    private static final long OVERDUE_MS = 5_000;           // Pending run this late by the wall clock is considered lost
+
+    private final SalahTimeService service;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    private volatile ScheduledFuture<?> nextRun;
+    private volatile long nextRunAtMs;                      // Wall-clock due time of nextRun, MAX_VALUE while a refresh runs
+    private long retryDelayMs = MIN_RETRY_MS;
+
+    public TimetableRefresher(SalahTimeService service) {
+        this.service = service;
+        ThreadFactory tf = r -> {
+            Thread t = new Thread(r, "timetable-refresher");
+            t.setDaemon(true);
+            return t;
+        };
+        this.executor = Executors.newSingleThreadScheduledExecutor(tf);
+    }
+
+    /**
+     * Requests an immediate refresh. Requests arriving while one is queued are coalesced.
+     */
+    public void requestRefresh() {
+        if (refreshPending.compareAndSet(false, true)) {
+            executor.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Requests a refresh because the published plan expired, e.g. from the widget tick.
+     * Does nothing while a refresh runs or a run is scheduled: the midnight run and the retry backoff
+     * own those. Only a run overdue by the wall clock (the machine slept through it) is brought forward.
+     */
+    public void requestRefreshIfDue() {
+        if (System.currentTimeMillis() >= nextRunAtMs + OVERDUE_MS) {
+            requestRefresh();
+        }
+    }
+
+    private void refresh() {
+        refreshPending.set(false);
+        cancelNextRun();
+        nextRunAtMs = Long.MAX_VALUE - OVERDUE_MS;
+
+        try {
+            service.refreshPlan(PREFETCH_DAYS);
+            retryDelayMs = MIN_RETRY_MS;
+            scheduleNext(millisUntilMidnight() + MIDNIGHT_OFFSET_MS);
+        } catch (Exception e) {
+            e.printStackTrace();
+            service.markRefreshFailed();
+            scheduleNext(retryDelayMs);
+            retryDelayMs = Math.min(retryDelayMs * 2, MAX_RETRY_MS);
+        }
+    }
+
+    private void scheduleNext(long delayMs) {
+        if (!executor.isShutdown()) {
+            nextRunAtMs = System.currentTimeMillis() + delayMs;
+            nextRun = executor.schedule(this::refresh, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancelNextRun() {
+        ScheduledFuture<?> run = nextRun;
+        if (run != null && !run.isDone()) {
+            run.cancel(false);
+        }
+    }
+
+    private static long millisUntilMidnight() {
+        ZoneId zone = ZoneId.systemDefault();
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        ZonedDateTime midnight = LocalDate.now(zone).plusDays(1).atStartOfDay(zone);
+        return Math.max(0, Duration.between(now, midnight).toMillis());
+    }
+
+    public void shutdown() {
+        cancelNextRun();
+        executor.shutdownNow();
+    }
+}
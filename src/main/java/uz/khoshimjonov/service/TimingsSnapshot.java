@@ -0,0 +1,31 @@
+package uz.khoshimjonov.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of the published timings.
+ * <p>
+ * A new snapshot with a higher {@code version} is published every time the timings are reloaded,
+ * so readers can compare versions and rebuild only when something actually changed.
+ *
+ * @param version  monotonically increasing publication number, 0 for {@link #EMPTY}
+ * @param date     the day the timings belong to
+ * @param timings  today's prayer times, unmodifiable, iterates in prayer order
+ * @param plan     today's and tomorrow's boundaries for next-prayer lookups
+ */
+public record TimingsSnapshot(long version, LocalDate date, Map<Prayer, LocalTime> timings, DayPlan plan) {
+
+    public static final TimingsSnapshot EMPTY = new TimingsSnapshot(0, null, Collections.emptyMap(), null);
+
+    public static TimingsSnapshot of(long version, LocalDate date, Map<Prayer, LocalTime> timings, DayPlan plan) {
+        return new TimingsSnapshot(version, date, Collections.unmodifiableMap(new EnumMap<>(timings)), plan);
+    }
+
+    public boolean isEmpty() {
+        return plan == null;
+    }
+}
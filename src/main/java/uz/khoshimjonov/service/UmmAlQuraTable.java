@@ -0,0 +1,91 @@
+package uz.khoshimjonov.service;
+
+/**
+ * Umm al-Qura calendar, 1300-1600 AH, as published by the JDK's {@code Hijrah-umalqura} chronology.
+ * <p>
+ * Each month's length is one bit (1 = 30 days, 0 = 29 days), 3612 months in 456 bytes.
+ * A prefix sum over the months, built once at class load, turns both conversion directions
+ * into an array lookup plus at most a couple of correction steps.
+ */
+final class UmmAlQuraTable {
+
+    static final int MIN_YEAR = 1300;
+    static final int MAX_YEAR = 1600;
+    static final long FIRST_EPOCH_DAY = -31826;     // 1 Muharram 1300 = 1882-11-12
+
+    private static final int MONTHS = (MAX_YEAR - MIN_YEAR + 1) * 12;
+
+    // Bit i = month i counted from Muharram 1300, least significant bit first
+    private static final long[] MONTH_BITS = {
+            0xC5762B69372AB555L, 0x5D49E956AAAB5536L, 0xA96B4B3AA5B52BA9L, 0x5752B5A56D2AD52EL,
+            0xB4AB5A56D16E8AF2L, 0xA9B64BB25B92DA96L, 0x5D4ADA55D46D935AL, 0xD46E92F4975536A9L,
+            0x9BA4BD25D5356A96L, 0xD4ADA55B2AB693B4L, 0x2AE94EAA6D92DAA5L, 0xD5556AA6D4AEC56DL,
+            0x553AA5B52BA93D4AL, 0xADA55D29D52EA96BL, 0xDA2ED16E4AEA56D4L, 0x4BB25B92DA95AAAAL,
+            0xBA4DB2AB5556C976L, 0x92DAA5D52DA95B4AL, 0xBAA5AD52DA8ED26DL, 0x699752B6937497A4L,
+            0x4DB25B92BC95D52DL, 0xDA95D4ADA55D29D5L, 0x89BC4BD23AAAAD54L, 0x6D4B6A5AD52DA95BL,
+            0xD2AE956AA6D92DC9L, 0x9D94DAAAB5536A56L, 0xD555AA5B52BA95D4L, 0x4ADA55D26E92EA9AL,
+            0x6D4ADA4DB276A56DL, 0xD26E92F49754B5A5L, 0x5B92BAA6B5356A56L, 0xB4ADA55AA9B68BB2L,
+            0x276536A9AB52DA95L, 0xD5556A96D4AF2575L, 0x52B695749BA4BD2AL, 0xAD94DAA5D52DA95BL,
+            0xD92EC96E2AE956B2L, 0x2BD15D4AD6556AAAL, 0xD64DB26B553AC5B6L, 0x8AEA96D4ADA55D29L,
+            0xDAA6AD4ADA4ED16EL, 0x6556D1B68B725B92L, 0x2DA95B52BA95B4ABL, 0xDA95D46E94ECA6D5L,
+            0x93749BA4DAAAAD54L, 0xBAA5D52D6A9754B6L, 0xC55D2AD955B2AB94L, 0x5B4AB5555B25D92DL,
+            0x6AAB5937457A2BA9L, 0x95B4ABA55D29D64DL, 0x5B49DA2DD15D4ADAL, 0xD1768B725B52D5A9L,
+            0x5B52BA96ACAB6A56L, 0xD46B94DAA5B62BB1L, 0x975555AA9D52DA8DL, 0xB5556A96E4AF1374L,
+            0x000000000B94BAA6L
+    };
+
+    private static final int[] MONTH_START = new int[MONTHS + 1];    // days from FIRST_EPOCH_DAY to month i
+
+    static {
+        for (int i = 0; i < MONTHS; i++) {
+            MONTH_START[i + 1] = MONTH_START[i] + monthLength(i);
+        }
+    }
+
+    static final long LAST_EPOCH_DAY = FIRST_EPOCH_DAY + MONTH_START[MONTHS] - 1;
+
+    private UmmAlQuraTable() {
+    }
+
+    static boolean coversYear(int year) {
+        return year >= MIN_YEAR && year <= MAX_YEAR;
+    }
+
+    static boolean coversEpochDay(long epochDay) {
+        return epochDay >= FIRST_EPOCH_DAY && epochDay <= LAST_EPOCH_DAY;
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        return monthLength((year - MIN_YEAR) * 12 + month - 1);
+    }
+
+    static int lengthOfYear(int year) {
+        int first = (year - MIN_YEAR) * 12;
+        return MONTH_START[first + 12] - MONTH_START[first];
+    }
+
+    static long toEpochDay(int year, int month, int day) {
+        return FIRST_EPOCH_DAY + MONTH_START[(year - MIN_YEAR) * 12 + month - 1] + day - 1;
+    }
+
+    /**
+     * Returns the month containing {@code epochDay}, counted from Muharram 1300.
+     * The caller checks {@link #coversEpochDay(long)} first.
+     */
+    static int monthIndexOf(long epochDay) {
+        int days = (int) (epochDay - FIRST_EPOCH_DAY);
+        // Mean synodic month is 29.5306 days, the table never drifts a whole month from it
+        int index = Math.min(MONTHS - 1, (int) (days * 10_000L / 295_306));
+        while (MONTH_START[index] > days) index--;
+        while (MONTH_START[index + 1] <= days) index++;
+        return index;
+    }
+
+    static int dayOfMonth(long epochDay, int monthIndex) {
+        return (int) (epochDay - FIRST_EPOCH_DAY) - MONTH_START[monthIndex] + 1;
+    }
+
+    private static int monthLength(int index) {
+        return (MONTH_BITS[index >> 6] >>> (index & 63) & 1L) != 0 ? 30 : 29;
+    }
+}
@@ -0,0 +1,65 @@
+package uz.khoshimjonov.service.notification;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Appends notifications to a log file, rolling it over once it grows past {@link #MAX_SIZE_BYTES}.
+ * Keeps {@link #MAX_BACKUPS} old files: notifications.log.1, notifications.log.2, ...
+ */
+public class LogFileNotificationSink implements NotificationSink {
+
+    private static final long MAX_SIZE_BYTES = 256 * 1024;
+    private static final int MAX_BACKUPS = 3;
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path logFile;
+
+    public LogFileNotificationSink(Path directory) {
+        this.logFile = directory.resolve("notifications.log");
+    }
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(Notification notification) throws IOException {
+        rollIfNeeded();
+
+        String line = ZonedDateTime.now().format(TIME_FMT)
+                + " [" + notification.targetTime().atZone(ZoneId.systemDefault()).format(TIME_FMT) + "] "
+                + notification.title() + " - " + notification.body() + System.lineSeparator();
+
+        try (Writer writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line);
+        }
+    }
+
+    private void rollIfNeeded() throws IOException {
+        if (!Files.exists(logFile) || Files.size(logFile) < MAX_SIZE_BYTES) {
+            return;
+        }
+        for (int i = MAX_BACKUPS - 1; i >= 1; i--) {
+            Path from = backup(i);
+            if (Files.exists(from)) {
+                Files.move(from, backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(logFile, backup(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path backup(int index) {
+        return logFile.resolveSibling(logFile.getFileName() + "." + index);
+    }
+}
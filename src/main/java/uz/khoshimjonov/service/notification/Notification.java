@@ -0,0 +1,13 @@
+package uz.khoshimjonov.service.notification;
+
+import java.time.Instant;
+
+/**
+ * A notification handed to every {@link NotificationSink}.
+ *
+ * @param title      headline, e.g. "It's time for the Asr prayer"
+ * @param body       detail line, e.g. the prayer time
+ * @param targetTime the instant the notification was planned for
+ */
+public record Notification(String title, String body, Instant targetTime) {
+}
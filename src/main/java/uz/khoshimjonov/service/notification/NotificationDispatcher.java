@@ -0,0 +1,78 @@
+package uz.khoshimjonov.service.notification;
+
+import uz.khoshimjonov.service.ConfigurationManager;
+
+import java.awt.*;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fans notifications out to all configured sinks.
+ * <p>
+ * Publishing only enqueues: each sink is drained by its own {@link SinkWorker},
+ * so the scheduler's timing thread never waits for delivery.
+ */
+public class NotificationDispatcher {
+
+    private final List<SinkWorker> workers = new ArrayList<>();
+
+    public NotificationDispatcher(List<NotificationSink> sinks) {
+        for (NotificationSink sink : sinks) {
+            workers.add(new SinkWorker(sink));
+        }
+    }
+
+    /**
+     * Builds the sink set from configuration: the tray is always on,
+     * log file, webhook and sound are opt-in.
+     */
+    public static NotificationDispatcher fromConfiguration(TrayIcon trayIcon) {
+        ConfigurationManager configurationManager = ConfigurationManager.getInstance();
+        List<NotificationSink> sinks = new ArrayList<>();
+        sinks.add(new TrayNotificationSink(trayIcon));
+
+        if (configurationManager.isNotifyLogFile()) {
+            Path directory = configurationManager.getConfigPath().toAbsolutePath().getParent();
+            sinks.add(new LogFileNotificationSink(directory));
+        }
+
+        String webhookUrl = configurationManager.getNotificationWebhookUrl();
+        if (!webhookUrl.isBlank()) {
+            try {
+                sinks.add(new WebhookNotificationSink(URI.create(webhookUrl.trim())));
+            } catch (IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (configurationManager.isNotifySound()) {
+            sinks.add(new SoundNotificationSink());
+        }
+
+        return new NotificationDispatcher(sinks);
+    }
+
+    public void publish(Notification notification) {
+        for (SinkWorker worker : workers) {
+            worker.offer(notification);
+        }
+    }
+
+    public void shutdown() {
+        for (SinkWorker worker : workers) {
+            worker.shutdown();
+        }
+    }
+
+    /**
+     * Appends per-sink delivery statistics for debugging.
+     */
+    public void render(StringBuilder sb) {
+        sb.append("Sinks:\n");
+        for (SinkWorker worker : workers) {
+            worker.render(sb);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package uz.khoshimjonov.service.notification;
+
+/**
+ * Destination for prayer notifications.
+ * <p>
+ * Every sink gets its own bounded queue and dispatcher thread, so {@link #deliver(Notification)}
+ * may block or be slow without delaying other sinks or the scheduler.
+ */
+public interface NotificationSink {
+
+    String getName();
+
+    void deliver(Notification notification) throws Exception;
+
+    default void close() {
+    }
+}
@@ -0,0 +1,84 @@
+package uz.khoshimjonov.service.notification;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue plus a virtual-thread consumer for one {@link NotificationSink}.
+ * <p>
+ * {@link #offer(Notification)} never blocks: when the queue is full the oldest pending
+ * notification is dropped, so a stuck sink cannot push back on the caller.
+ */
+class SinkWorker {
+
+    private static final int QUEUE_CAPACITY = 16;
+
+    private final NotificationSink sink;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread thread;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long lastLatencyMs = -1;
+    private volatile long maxLatencyMs = -1;
+
+    private record Entry(Notification notification, long enqueuedNanos) {
+    }
+
+    SinkWorker(NotificationSink sink) {
+        this.sink = sink;
+        this.thread = Thread.ofVirtual()
+                .name("notification-" + sink.getName())
+                .start(this::run);
+    }
+
+    void offer(Notification notification) {
+        Entry entry = new Entry(notification, System.nanoTime());
+        while (!queue.offer(entry)) {
+            if (queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Entry entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            try {
+                sink.deliver(entry.notification());
+                long latencyMs = (System.nanoTime() - entry.enqueuedNanos()) / 1_000_000;
+                lastLatencyMs = latencyMs;
+                maxLatencyMs = Math.max(maxLatencyMs, latencyMs);
+                delivered.incrementAndGet();
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                e.printStackTrace();
+            }
+        }
+    }
+
+    void shutdown() {
+        thread.interrupt();
+        sink.close();
+    }
+
+    void render(StringBuilder sb) {
+        sb.append("  ").append(sink.getName())
+                .append(": delivered=").append(delivered.get())
+                .append(", failed=").append(failed.get())
+                .append(", dropped=").append(dropped.get())
+                .append(", pending=").append(queue.size())
+                .append(", lastLatency=").append(lastLatencyMs).append(" ms")
+                .append(", maxLatency=").append(maxLatencyMs).append(" ms\n");
+    }
+}
@@ -0,0 +1,19 @@
+package uz.khoshimjonov.service.notification;
+
+import java.awt.*;
+
+/**
+ * Plays the system alert sound.
+ */
+public class SoundNotificationSink implements NotificationSink {
+
+    @Override
+    public String getName() {
+        return "sound";
+    }
+
+    @Override
+    public void deliver(Notification notification) {
+        Toolkit.getDefaultToolkit().beep();
+    }
+}
@@ -0,0 +1,25 @@
+package uz.khoshimjonov.service.notification;
+
+import java.awt.*;
+
+/**
+ * Shows notifications as system tray balloons.
+ */
+public class TrayNotificationSink implements NotificationSink {
+
+    private final TrayIcon trayIcon;
+
+    public TrayNotificationSink(TrayIcon trayIcon) {
+        this.trayIcon = trayIcon;
+    }
+
+    @Override
+    public String getName() {
+        return "tray";
+    }
+
+    @Override
+    public void deliver(Notification notification) {
+        trayIcon.displayMessage(notification.title(), notification.body(), TrayIcon.MessageType.INFO);
+    }
+}
@@ -0,0 +1,59 @@
+package uz.khoshimjonov.service.notification;
+
+import com.google.gson.Gson;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * POSTs notifications as JSON to a local webhook, e.g. a home automation endpoint.
+ */
+public class WebhookNotificationSink implements NotificationSink {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI uri;
+    private final HttpClient client;
+    private final Gson gson = new Gson();
+
+    public WebhookNotificationSink(URI uri) {
+        this.uri = uri;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(Notification notification) throws Exception {
+        Map<String, String> payload = new LinkedHashMap<>();
+        payload.put("title", notification.title());
+        payload.put("body", notification.body());
+        payload.put("targetTime", notification.targetTime().toString());
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(payload)))
+                .build();
+
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Webhook responded with " + response.statusCode());
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -23,8 +23,8 @@ public class FrameDragListener extends MouseAdapter {
     public void mouseReleased(MouseEvent e) {
         Point currCoords = e.getLocationOnScreen();
         savedPosition = new Point(currCoords.x - mouseDownCompCoords.x, currCoords.y - mouseDownCompCoords.y);
-        configurationManager.setPointX(savedPosition.x);
-        configurationManager.setPointY(savedPosition.y);
+        Point position = savedPosition;
+        configurationManager.update(editor -> editor.setPointX(position.x).setPointY(position.y));
         mouseDownCompCoords = null;
     }
 
@@ -0,0 +1,259 @@
+package uz.khoshimjonov.widget;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-line label for the overlay that paints from pre-rasterized images instead of drawing text.
+ * <p>
+ * Strategy:
+ * - Digits and separators are rasterized once per font, colour and screen scale into one atlas image
+ * - Any other run of characters (the prayer title, "Remaining") is rasterized whole, so scripts that
+ *   need shaping stay intact, and kept in a small cache next to the atlas
+ * - Layout is a list of segments with fixed x positions; a new text repaints only the segments
+ *   that differ, usually the last digit or two of the countdown
+ * - Painting copies image regions, nothing is laid out or antialiased per tick
+ * <p>
+ * Only touched on the EDT, like any Swing component; the atlas cache relies on that too.
+ */
+public class GlyphAtlasLabel extends JComponent {
+
+    private static final String ATLAS_CHARS = "0123456789:.,-+ ";
+    private static final FontRenderContext FRC = new FontRenderContext(null, true, false);
+    private static final int MAX_ATLASES = 8;
+
+    private static final Map<AtlasKey, GlyphAtlas> ATLASES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<AtlasKey, GlyphAtlas> eldest) {
+            return size() > MAX_ATLASES;
+        }
+    };
+
+    private String text = "";
+    private List<Segment> segments = List.of();
+    private int textWidth;
+
+    public GlyphAtlasLabel() {
+        setOpaque(false);
+        setFont(new Font("Roboto", Font.BOLD, 14));
+        setForeground(Color.WHITE);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        String newText = text == null ? "" : text;
+        if (newText.equals(this.text)) {
+            return;
+        }
+        this.text = newText;
+
+        List<Segment> previous = segments;
+        int previousWidth = textWidth;
+        layoutSegments();
+        if (textWidth != previousWidth) {
+            revalidate();
+        }
+
+        // Repaint the span covering every segment that moved or changed
+        int dirtyFrom = Integer.MAX_VALUE;
+        int dirtyTo = Integer.MIN_VALUE;
+        for (int i = 0; i < Math.max(previous.size(), segments.size()); i++) {
+            Segment before = i < previous.size() ? previous.get(i) : null;
+            Segment after = i < segments.size() ? segments.get(i) : null;
+            if (before != null && before.equals(after)) {
+                continue;
+            }
+            for (Segment segment : new Segment[]{before, after}) {
+                if (segment != null) {
+                    dirtyFrom = Math.min(dirtyFrom, segment.x());
+                    dirtyTo = Math.max(dirtyTo, segment.x() + segment.width());
+                }
+            }
+        }
+        if (dirtyFrom < dirtyTo) {
+            // One extra pixel on each side for antialiasing that bleeds past the advance
+            repaint(getInsets().left + dirtyFrom - 1, 0, dirtyTo - dirtyFrom + 2, getHeight());
+        }
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        if (text != null) {
+            layoutSegments();
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        LineMetrics metrics = getFont().getLineMetrics(ATLAS_CHARS, FRC);
+        return new Dimension(textWidth + insets.left + insets.right,
+                ceil(metrics.getAscent()) + ceil(metrics.getDescent()) + insets.top + insets.bottom);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (segments.isEmpty()) {
+            return;
+        }
+        Graphics2D g2d = (Graphics2D) g;
+        GlyphAtlas atlas = atlasFor(getFont(), getForeground(), g2d.getTransform().getScaleX());
+
+        Insets insets = getInsets();
+        int top = insets.top + (getHeight() - insets.top - insets.bottom - atlas.lineHeight) / 2;
+        Rectangle clip = g.getClipBounds();
+        for (Segment segment : segments) {
+            int x = insets.left + segment.x();
+            if (clip == null || (x < clip.x + clip.width && x + segment.width() > clip.x)) {
+                atlas.draw(g2d, segment, x, top);
+            }
+        }
+    }
+
+    private void layoutSegments() {
+        List<Segment> result = new ArrayList<>();
+        Font font = getFont();
+        int x = 0;
+        int runStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean atlasChar = i < text.length() && ATLAS_CHARS.indexOf(text.charAt(i)) >= 0;
+            if (i < text.length() && !atlasChar) {
+                if (runStart < 0) runStart = i;
+                continue;
+            }
+            if (runStart >= 0) {
+                String run = text.substring(runStart, i);
+                int width = advance(font, run);
+                result.add(new Segment(run, x, width));
+                x += width;
+                runStart = -1;
+            }
+            if (atlasChar) {
+                String glyph = String.valueOf(text.charAt(i));
+                int width = advance(font, glyph);
+                result.add(new Segment(glyph, x, width));
+                x += width;
+            }
+        }
+        segments = result;
+        textWidth = x;
+    }
+
+    private static int advance(Font font, String text) {
+        return ceil(font.getStringBounds(text, FRC).getWidth());
+    }
+
+    private static int ceil(double value) {
+        return (int) Math.ceil(value);
+    }
+
+    private static GlyphAtlas atlasFor(Font font, Color color, double scale) {
+        return ATLASES.computeIfAbsent(new AtlasKey(font, color.getRGB(), scale), GlyphAtlas::new);
+    }
+
+    /**
+     * Text drawn at {@code x}, {@code width} logical pixels wide; an atlas character or a whole run.
+     */
+    private record Segment(String text, int x, int width) {
+    }
+
+    private record AtlasKey(Font font, int rgb, double scale) {
+    }
+
+    /**
+     * Rasterized glyphs for one font, colour and scale. Images are in device pixels, positions in logical pixels.
+     */
+    private static final class GlyphAtlas {
+
+        private static final int MAX_RUNS = 32;
+        private static final int CELL_GAP = 2;
+
+        private final AtlasKey key;
+        private final int ascent;
+        private final int lineHeight;
+        private final BufferedImage image;
+        private final int[] cellX = new int[ATLAS_CHARS.length()];
+        private final int[] cellWidth = new int[ATLAS_CHARS.length()];
+        private final Map<String, BufferedImage> runs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+                return size() > MAX_RUNS;
+            }
+        };
+
+        GlyphAtlas(AtlasKey key) {
+            this.key = key;
+            LineMetrics metrics = key.font().getLineMetrics(ATLAS_CHARS, FRC);
+            this.ascent = ceil(metrics.getAscent());
+            this.lineHeight = ascent + ceil(metrics.getDescent());
+
+            int x = 0;
+            for (int i = 0; i < ATLAS_CHARS.length(); i++) {
+                cellX[i] = x;
+                cellWidth[i] = advance(key.font(), String.valueOf(ATLAS_CHARS.charAt(i)));
+                x += cellWidth[i] + CELL_GAP;
+            }
+            this.image = rasterize(x);
+            Graphics2D g = prepare(image);
+            for (int i = 0; i < ATLAS_CHARS.length(); i++) {
+                g.drawString(String.valueOf(ATLAS_CHARS.charAt(i)), cellX[i], ascent);
+            }
+            g.dispose();
+        }
+
+        void draw(Graphics2D g, Segment segment, int x, int y) {
+            String text = segment.text();
+            int cell = text.length() == 1 ? ATLAS_CHARS.indexOf(text.charAt(0)) : -1;
+            if (cell >= 0) {
+                int width = cellWidth[cell];
+                g.drawImage(image, x, y, x + width, y + lineHeight,
+                        toDevice(cellX[cell]), 0, toDevice(cellX[cell] + width), toDevice(lineHeight), null);
+                return;
+            }
+            BufferedImage run = runs.computeIfAbsent(text, this::rasterizeRun);
+            g.drawImage(run, x, y, x + segment.width(), y + lineHeight,
+                    0, 0, run.getWidth(), run.getHeight(), null);
+        }
+
+        private BufferedImage rasterizeRun(String text) {
+            BufferedImage run = rasterize(advance(key.font(), text));
+            Graphics2D g = prepare(run);
+            g.drawString(text, 0, ascent);
+            g.dispose();
+            return run;
+        }
+
+        private BufferedImage rasterize(int logicalWidth) {
+            return new BufferedImage(Math.max(1, ceil(logicalWidth * key.scale())), Math.max(1, ceil(lineHeight * key.scale())),
+                    BufferedImage.TYPE_INT_ARGB);
+        }
+
+        private Graphics2D prepare(BufferedImage target) {
+            Graphics2D g = target.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.scale(key.scale(), key.scale());
+            g.setFont(key.font());
+            g.setColor(new Color(key.rgb(), true));
+            return g;
+        }
+
+        private int toDevice(int logical) {
+            return (int) Math.round(logical * key.scale());
+        }
+    }
+}
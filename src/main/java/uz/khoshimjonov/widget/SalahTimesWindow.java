@@ -6,6 +6,8 @@ import uz.khoshimjonov.service.ConfigurationManager;
 import uz.khoshimjonov.service.HijriDate;
 import uz.khoshimjonov.service.IslamicCalendar;
 import uz.khoshimjonov.service.LanguageHelper;
+import uz.khoshimjonov.service.Prayer;
+import uz.khoshimjonov.service.TimingsSnapshot;
 
 import javax.swing.*;
 import java.awt.*;
@@ -18,7 +20,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.*;
 import java.util.List;
-import java.util.Timer;
+import java.util.function.Supplier;
 
 @Getter
 @Setter
@@ -37,6 +39,13 @@ public class SalahTimesWindow extends JDialog {
     private static final Color CURRENT_SALAH_BORDER = new Color(34, 197, 94, 100);
     private static final Color DANGER_COLOR = new Color(220, 38, 38);
     private static final Color DANGER_TEXT = new Color(248, 113, 113);
+    private static final Color DANGER_BG = new Color(220, 38, 38, 50);
+    private static final Color DANGER_BG_HOVER = new Color(220, 38, 38, 100);
+    private static final Color BUTTON_BG_HOVER = new Color(60, 60, 70);
+    private static final Color SEPARATOR_COLOR = new Color(70, 70, 80, 120);
+    private static final BasicStroke BORDER_STROKE = new BasicStroke(1.5f);
+    private static final DateTimeFormatter CLOCK_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final DateTimeFormatter SALAH_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
 
     private static final String FONT_FAMILY = "Segoe UI";
     private static final int FONT_SIZE_TITLE = 32;
@@ -51,9 +60,11 @@ public class SalahTimesWindow extends JDialog {
     private WindowAdapter windowAdapter;
     private final Runnable onCloseCallback;
     private boolean isClosing = false;
-    private Timer updateTimer;
-    private final Map<String, LocalTime> timings;
-    private final List<String> orderedKeys;
+    private final UiClock.TickListener clockTick = epochSecond -> SwingUtilities.invokeLater(this::onClockTick);
+    private final Supplier<TimingsSnapshot> snapshotSource;
+    private long snapshotVersion;
+    private Map<Prayer, LocalTime> timings;
+    private List<Prayer> orderedKeys;
     private int currentSalahIndex = -1;
     private int nextSalahIndex = -1;
     private final String userLanguage;
@@ -63,14 +74,14 @@ public class SalahTimesWindow extends JDialog {
     private JLabel countdownValueLabel;
     private JLabel nextSalahInfoLabel;
     private JPanel prayerTimesCardPanel;
-    private final Map<Integer, JLabel> remainingFromNowLabels = new HashMap<>();
-    private final Map<Integer, JLabel> remainingFromPrevLabels = new HashMap<>();
+    private final List<PrayerRow> prayerRows = new ArrayList<>();
+    private List<Prayer> rowPrayers;
 
-    public SalahTimesWindow(Map<String, LocalTime> timings, Runnable onCloseCallback) {
+    public SalahTimesWindow(Supplier<TimingsSnapshot> snapshotSource, Runnable onCloseCallback) {
         this.onCloseCallback = onCloseCallback;
-        this.timings = timings != null ? new LinkedHashMap<>(timings) : new LinkedHashMap<>();
+        this.snapshotSource = snapshotSource;
         this.userLanguage = configurationManager.getUserLanguage();
-        this.orderedKeys = new ArrayList<>(this.timings.keySet());
+        applySnapshot(snapshotSource.get());
 
         determineCurrentAndNextSalah();
 
@@ -82,12 +93,14 @@ public class SalahTimesWindow extends JDialog {
         setBackground(new Color(0, 0, 0, 0));
 
         JPanel mainPanel = new JPanel(new BorderLayout()) {
+            private final RoundRect background = new RoundRect(24, 0);
+
             @Override
             protected void paintComponent(Graphics g) {
                 Graphics2D g2 = (Graphics2D) g.create();
                 applyRenderingHints(g2);
                 g2.setColor(BACKGROUND_PRIMARY);
-                g2.fill(new RoundRectangle2D.Float(0, 0, getWidth(), getHeight(), 24, 24));
+                g2.fill(background.of(getWidth(), getHeight()));
                 g2.dispose();
             }
         };
@@ -111,13 +124,15 @@ public class SalahTimesWindow extends JDialog {
         mainPanel.add(contentPanel, BorderLayout.CENTER);
 
         JPanel borderPanel = new JPanel(new BorderLayout()) {
+            private final RoundRect border = new RoundRect(24, 1);
+
             @Override
             protected void paintComponent(Graphics g) {
                 Graphics2D g2 = (Graphics2D) g.create();
                 applyRenderingHints(g2);
                 g2.setColor(BORDER_COLOR);
-                g2.setStroke(new BasicStroke(1.5f));
-                g2.draw(new RoundRectangle2D.Float(0, 0, getWidth() - 1, getHeight() - 1, 24, 24));
+                g2.setStroke(BORDER_STROKE);
+                g2.draw(border.of(getWidth(), getHeight()));
                 g2.dispose();
             }
         };
@@ -129,13 +144,13 @@ public class SalahTimesWindow extends JDialog {
         pack();
         setPosition();
         installOutsideClickCloser();
-        startUpdateTimer();
         setVisible(true);
+        UiClock.getInstance().subscribe(clockTick);
         toFront();
         requestFocus();
     }
 
-    private void applyRenderingHints(Graphics2D g2) {
+    private static void applyRenderingHints(Graphics2D g2) {
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB);
         g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
@@ -143,6 +158,29 @@ public class SalahTimesWindow extends JDialog {
         g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
     }
 
+    /**
+     * Adopts a published snapshot. The snapshot map is immutable, so it is shared rather than copied.
+     */
+    private void applySnapshot(TimingsSnapshot snapshot) {
+        snapshotVersion = snapshot.version();
+        timings = snapshot.timings();
+        orderedKeys = new ArrayList<>(timings.keySet());
+    }
+
+    /**
+     * Picks up a newer snapshot if one was published since the last check.
+     *
+     * @return true if the timings changed
+     */
+    private boolean pollSnapshot() {
+        TimingsSnapshot snapshot = snapshotSource.get();
+        if (snapshot.version() == snapshotVersion) {
+            return false;
+        }
+        applySnapshot(snapshot);
+        return true;
+    }
+
     private void determineCurrentAndNextSalah() {
         if (timings == null || timings.isEmpty() || orderedKeys.isEmpty()) {
             currentSalahIndex = -1;
@@ -157,8 +195,7 @@ public class SalahTimesWindow extends JDialog {
         nextSalahIndex = -1;
 
         for (int i = 0; i < size; i++) {
-            String key = orderedKeys.get(i);
-            LocalTime salahTime = timings.get(key);
+            LocalTime salahTime = timings.get(orderedKeys.get(i));
 
             if (salahTime != null && now.isBefore(salahTime)) {
                 nextSalahIndex = i;
@@ -267,15 +304,7 @@ public class SalahTimesWindow extends JDialog {
         panel.setOpaque(false);
         panel.setAlignmentX(Component.LEFT_ALIGNMENT);
 
-        currentTimeLabel = new JLabel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                applyRenderingHints(g2);
-                super.paintComponent(g2);
-                g2.dispose();
-            }
-        };
+        currentTimeLabel = new RetainedLabel("");
         currentTimeLabel.setFont(new Font(FONT_FAMILY, Font.BOLD, FONT_SIZE_TITLE));
         currentTimeLabel.setForeground(ACCENT_PRIMARY);
         currentTimeLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -285,7 +314,7 @@ public class SalahTimesWindow extends JDialog {
         countdownPanel.setOpaque(false);
 
         if (nextSalahIndex >= 0 && !orderedKeys.isEmpty()) {
-            String nextSalahName = orderedKeys.get(nextSalahIndex);
+            String nextSalahName = orderedKeys.get(nextSalahIndex).getTitle();
 
             nextSalahInfoLabel = createStyledLabel(
                     LanguageHelper.getText("nextPrayer") + ": " + nextSalahName + ", " + LanguageHelper.getText("inTime") + " ",
@@ -314,15 +343,7 @@ public class SalahTimesWindow extends JDialog {
     }
 
     private JLabel createStyledLabel(String text, int fontSize, Color color, boolean bold) {
-        JLabel label = new JLabel(text) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                applyRenderingHints(g2);
-                super.paintComponent(g2);
-                g2.dispose();
-            }
-        };
+        JLabel label = new RetainedLabel(text);
         label.setFont(new Font(FONT_FAMILY, bold ? Font.BOLD : Font.PLAIN, fontSize));
         label.setForeground(color);
         return label;
@@ -331,14 +352,13 @@ public class SalahTimesWindow extends JDialog {
     private void updateCurrentTimeLabel() {
         if (currentTimeLabel != null) {
             LocalTime now = LocalTime.now();
-            currentTimeLabel.setText(now.format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+            currentTimeLabel.setText(now.format(CLOCK_FORMAT));
         }
     }
 
     private void updateCountdownLabel() {
         if (countdownValueLabel != null && nextSalahIndex >= 0 && !orderedKeys.isEmpty()) {
-            String nextKey = orderedKeys.get(nextSalahIndex);
-            LocalTime nextTime = timings.get(nextKey);
+            LocalTime nextTime = timings.get(orderedKeys.get(nextSalahIndex));
             if (nextTime != null) {
                 Duration remaining = calculateRemainingTime(LocalTime.now(), nextTime);
                 countdownValueLabel.setText(formatDurationHHMMSS(remaining));
@@ -365,12 +385,14 @@ public class SalahTimesWindow extends JDialog {
         containerPanel.add(Box.createVerticalStrut(10));
 
         prayerTimesCardPanel = new JPanel() {
+            private final RoundRect background = new RoundRect(10, 0);
+
             @Override
             protected void paintComponent(Graphics g) {
                 Graphics2D g2 = (Graphics2D) g.create();
                 applyRenderingHints(g2);
                 g2.setColor(BACKGROUND_CARD);
-                g2.fill(new RoundRectangle2D.Float(0, 0, getWidth(), getHeight(), 10, 10));
+                g2.fill(background.of(getWidth(), getHeight()));
                 g2.dispose();
             }
         };
@@ -379,18 +401,37 @@ public class SalahTimesWindow extends JDialog {
         prayerTimesCardPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         prayerTimesCardPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
 
-        buildPrayerTimesContent();
+        syncPrayerRows();
 
         containerPanel.add(prayerTimesCardPanel);
         return containerPanel;
     }
 
-    private void buildPrayerTimesContent() {
+    /**
+     * Brings the prayer rows up to date. Rows are only rebuilt when the set of prayers changes,
+     * e.g. when the first timings arrive; otherwise the existing rows are updated in place.
+     */
+    private void syncPrayerRows() {
+        List<Prayer> prayers = new ArrayList<>();
+        if (timings != null) {
+            for (Prayer prayer : orderedKeys) {
+                if (timings.get(prayer) != null) {
+                    prayers.add(prayer);
+                }
+            }
+        }
+        if (!prayers.equals(rowPrayers)) {
+            rebuildPrayerRows(prayers);
+        }
+        updatePrayerRows();
+    }
+
+    private void rebuildPrayerRows(List<Prayer> prayers) {
+        rowPrayers = prayers;
         prayerTimesCardPanel.removeAll();
-        remainingFromNowLabels.clear();
-        remainingFromPrevLabels.clear();
+        prayerRows.clear();
 
-        if (timings == null || timings.isEmpty()) {
+        if (prayers.isEmpty()) {
             JLabel loading = createStyledLabel(
                     LanguageHelper.getText("loadingTitle"),
                     FONT_SIZE_MEDIUM, TEXT_SECONDARY, false
@@ -398,32 +439,17 @@ public class SalahTimesWindow extends JDialog {
             loading.setAlignmentX(Component.CENTER_ALIGNMENT);
             prayerTimesCardPanel.add(loading);
         } else {
-            LocalTime now = LocalTime.now();
-            int size = orderedKeys.size();
-
-            for (int i = 0; i < size; i++) {
-                String salahName = orderedKeys.get(i);
-                LocalTime salahTime = timings.get(salahName);
-
-                if (salahTime == null) continue;
-
-                boolean isCurrent = (i == currentSalahIndex);
-                boolean isNext = (i == nextSalahIndex);
-                boolean isPast = now.isAfter(salahTime) && !isCurrent;
+            for (int i = 0; i < orderedKeys.size(); i++) {
+                Prayer prayer = orderedKeys.get(i);
+                if (!prayers.contains(prayer)) continue;
 
-                JPanel rowPanel = createPrayerTimeRow(salahName, salahTime, i, isCurrent, isNext, isPast);
-                prayerTimesCardPanel.add(rowPanel);
-
-                if (i < size - 1) {
+                if (!prayerRows.isEmpty()) {
                     prayerTimesCardPanel.add(Box.createVerticalStrut(4));
                     JSeparator separator = new JSeparator() {
                         @Override
                         protected void paintComponent(Graphics g) {
-                            Graphics2D g2 = (Graphics2D) g.create();
-                            applyRenderingHints(g2);
-                            g2.setColor(new Color(70, 70, 80, 120));
-                            g2.fillRect(0, 0, getWidth(), 1);
-                            g2.dispose();
+                            g.setColor(SEPARATOR_COLOR);
+                            g.fillRect(0, 0, getWidth(), 1);
                         }
                     };
                     separator.setMaximumSize(new Dimension(Integer.MAX_VALUE, 1));
@@ -431,6 +457,10 @@ public class SalahTimesWindow extends JDialog {
                     prayerTimesCardPanel.add(separator);
                     prayerTimesCardPanel.add(Box.createVerticalStrut(4));
                 }
+
+                PrayerRow row = new PrayerRow(i, prayer);
+                prayerRows.add(row);
+                prayerTimesCardPanel.add(row);
             }
         }
 
@@ -438,126 +468,151 @@ public class SalahTimesWindow extends JDialog {
         prayerTimesCardPanel.repaint();
     }
 
-    private JPanel createPrayerTimeRow(String salahName, LocalTime time, int index,
-                                       boolean isCurrent, boolean isNext, boolean isPast) {
-        JPanel rowPanel = new JPanel(new BorderLayout(12, 0)) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                applyRenderingHints(g2);
-                if (isCurrent) {
-                    g2.setColor(CURRENT_SALAH_BG);
-                    g2.fill(new RoundRectangle2D.Float(0, 0, getWidth(), getHeight(), 10, 10));
-                    g2.setColor(CURRENT_SALAH_BORDER);
-                    g2.setStroke(new BasicStroke(1.5f));
-                    g2.draw(new RoundRectangle2D.Float(0, 0, getWidth() - 1, getHeight() - 1, 10, 10));
+    /**
+     * Applies the current/next/past state and the times to every row. Labels that do not change are not touched.
+     */
+    private void updatePrayerRows() {
+        LocalTime now = LocalTime.now();
+        for (PrayerRow row : prayerRows) {
+            int index = row.index;
+            LocalTime salahTime = timings.get(row.prayer);
+            boolean isCurrent = (index == currentSalahIndex);
+            boolean isNext = (index == nextSalahIndex);
+            boolean isPast = now.isAfter(salahTime) && !isCurrent;
+
+            String fromPrevText = null;
+            if (index > 0) {
+                Prayer prevPrayer = orderedKeys.get(index - 1);
+                LocalTime prevTime = timings.get(prevPrayer);
+                if (prevTime != null) {
+                    Duration fromPrev = Duration.between(prevTime, salahTime);
+                    if (!fromPrev.isNegative() && !fromPrev.isZero()) {
+                        fromPrevText = prevPrayer.getTitle() + " -> " + row.prayer.getTitle() + " +" + formatDurationHHMMSS(fromPrev);
+                    }
                 }
-                g2.dispose();
-                super.paintComponent(g);
             }
-        };
-        rowPanel.setOpaque(false);
-        rowPanel.setBorder(BorderFactory.createEmptyBorder(5, 6, 5, 6));
-        rowPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 90));
-
-        JPanel leftPanel = new JPanel();
-        leftPanel.setLayout(new BoxLayout(leftPanel, BoxLayout.Y_AXIS));
-        leftPanel.setOpaque(false);
-
-        JPanel namePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0));
-        namePanel.setOpaque(false);
-
-        JLabel nameLabel = createStyledLabel(
-                salahName,
-                FONT_SIZE_MEDIUM,
-                isPast ? TEXT_MUTED : (isCurrent ? ACCENT_PRIMARY : TEXT_PRIMARY),
-                isCurrent
-        );
-
-        namePanel.add(nameLabel);
+            row.update(salahTime, fromPrevText, isCurrent, isNext, isPast, now);
+        }
+    }
 
-        JPanel statusPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 2));
-        statusPanel.setOpaque(false);
+    private void updateRemainingTimes() {
+        if (timings == null || timings.isEmpty()) return;
 
-        leftPanel.add(namePanel);
-        if (isCurrent || isNext) {
-            leftPanel.add(statusPanel);
+        LocalTime now = LocalTime.now();
+        for (PrayerRow row : prayerRows) {
+            row.updateFromNow(now);
         }
+    }
 
-        JPanel rightPanel = new JPanel();
-        rightPanel.setLayout(new BoxLayout(rightPanel, BoxLayout.Y_AXIS));
-        rightPanel.setOpaque(false);
-
-        JLabel timeLabel = createStyledLabel(
-                time.format(DateTimeFormatter.ofPattern("HH:mm")),
-                FONT_SIZE_MEDIUM + 2,
-                isPast ? TEXT_MUTED : (isCurrent ? ACCENT_PRIMARY : TEXT_PRIMARY),
-                true
-        );
-        timeLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
-        rightPanel.add(timeLabel);
+    /**
+     * One prayer in the times card. Built once and updated in place; only the labels whose
+     * text, colour or font changes are repainted.
+     */
+    private final class PrayerRow extends JPanel {
+        private final int index;
+        private final Prayer prayer;
+        private final JLabel nameLabel;
+        private final JLabel timeLabel;
+        private final JLabel fromNowLabel;
+        private final JLabel fromPrevLabel;
+        private final JPanel statusPanel;
+        private final RoundRect highlight = new RoundRect(10, 0);
+        private final RoundRect outline = new RoundRect(10, 1);
+        private LocalTime time;
+        private boolean current;
+
+        PrayerRow(int index, Prayer prayer) {
+            super(new BorderLayout(12, 0));
+            this.index = index;
+            this.prayer = prayer;
+            setOpaque(false);
+            setBorder(BorderFactory.createEmptyBorder(5, 6, 5, 6));
+            setMaximumSize(new Dimension(Integer.MAX_VALUE, 90));
+
+            JPanel leftPanel = new JPanel();
+            leftPanel.setLayout(new BoxLayout(leftPanel, BoxLayout.Y_AXIS));
+            leftPanel.setOpaque(false);
+
+            JPanel namePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0));
+            namePanel.setOpaque(false);
+            nameLabel = createStyledLabel(prayer.getTitle(), FONT_SIZE_MEDIUM, TEXT_PRIMARY, false);
+            namePanel.add(nameLabel);
+
+            statusPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 2));
+            statusPanel.setOpaque(false);
+            statusPanel.setVisible(false);
+
+            leftPanel.add(namePanel);
+            leftPanel.add(statusPanel);
 
-        if (!isPast && !isCurrent) {
-            LocalTime now = LocalTime.now();
+            JPanel rightPanel = new JPanel();
+            rightPanel.setLayout(new BoxLayout(rightPanel, BoxLayout.Y_AXIS));
+            rightPanel.setOpaque(false);
 
-            Duration fromNow = calculateRemainingTime(now, time);
-            JLabel fromNowLabel = createStyledLabel(
-                    LanguageHelper.getText("inTime") + " " + formatDurationHHMMSS(fromNow),
-                    FONT_SIZE_SMALL,
-                    isNext ? ACCENT_SECONDARY : TEXT_MUTED,
-                    false
-            );
+            timeLabel = createStyledLabel("", FONT_SIZE_MEDIUM + 2, TEXT_PRIMARY, true);
+            timeLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
+            fromNowLabel = createStyledLabel("", FONT_SIZE_SMALL, TEXT_MUTED, false);
             fromNowLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
+            fromNowLabel.setVisible(false);
+            fromPrevLabel = createStyledLabel("", FONT_SIZE_SMALL, TEXT_MUTED, false);
+            fromPrevLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
+            fromPrevLabel.setVisible(false);
+
+            rightPanel.add(timeLabel);
             rightPanel.add(fromNowLabel);
-            remainingFromNowLabels.put(index, fromNowLabel);
+            rightPanel.add(fromPrevLabel);
 
-        }
-        if (index > 0) {
-            int prevIndex = index - 1;
-            String prevName = orderedKeys.get(prevIndex);
-            LocalTime prevTime = timings.get(prevName);
-
-            if (prevTime != null) {
-                Duration fromPrev = Duration.between(prevTime, time);
-                if (!fromPrev.isNegative() && !fromPrev.isZero()) {
-                    String fromPrevText = prevName + " -> " + salahName + " +" + formatDurationHHMMSS(fromPrev);
-                    JLabel fromPrevLabel = createStyledLabel(
-                            fromPrevText,
-                            FONT_SIZE_SMALL,
-                            TEXT_MUTED,
-                            false
-                    );
-                    fromPrevLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
-                    rightPanel.add(fromPrevLabel);
-                    remainingFromPrevLabels.put(index, fromPrevLabel);
-                }
-            }
+            add(leftPanel, BorderLayout.WEST);
+            add(rightPanel, BorderLayout.EAST);
         }
 
-        rowPanel.add(leftPanel, BorderLayout.WEST);
-        rowPanel.add(rightPanel, BorderLayout.EAST);
+        void update(LocalTime time, String fromPrevText, boolean isCurrent, boolean isNext, boolean isPast, LocalTime now) {
+            this.time = time;
+            Color color = isPast ? TEXT_MUTED : (isCurrent ? ACCENT_PRIMARY : TEXT_PRIMARY);
 
-        return rowPanel;
-    }
+            nameLabel.setForeground(color);
+            if (nameLabel.getFont().isBold() != isCurrent) {
+                nameLabel.setFont(nameLabel.getFont().deriveFont(isCurrent ? Font.BOLD : Font.PLAIN));
+            }
+            timeLabel.setText(time.format(SALAH_TIME_FORMAT));
+            timeLabel.setForeground(color);
+            statusPanel.setVisible(isCurrent || isNext);
 
-    private void updateRemainingTimes() {
-        if (timings == null || timings.isEmpty()) return;
+            fromNowLabel.setVisible(!isPast && !isCurrent);
+            fromNowLabel.setForeground(isNext ? ACCENT_SECONDARY : TEXT_MUTED);
+            updateFromNow(now);
 
-        LocalTime now = LocalTime.now();
+            fromPrevLabel.setVisible(fromPrevText != null);
+            if (fromPrevText != null) {
+                fromPrevLabel.setText(fromPrevText);
+            }
 
-        for (Map.Entry<Integer, JLabel> entry : remainingFromNowLabels.entrySet()) {
-            int index = entry.getKey();
-            JLabel label = entry.getValue();
+            if (current != isCurrent) {
+                current = isCurrent;
+                repaint();
+            }
+        }
 
-            if (index >= 0 && index < orderedKeys.size()) {
-                String salahKey = orderedKeys.get(index);
-                LocalTime salahTime = timings.get(salahKey);
+        void updateFromNow(LocalTime now) {
+            if (fromNowLabel.isVisible() && now.isBefore(time)) {
+                Duration fromNow = calculateRemainingTime(now, time);
+                fromNowLabel.setText(LanguageHelper.getText("inTime") + " " + formatDurationHHMMSS(fromNow));
+            }
+        }
 
-                if (salahTime != null && now.isBefore(salahTime)) {
-                    Duration fromNow = calculateRemainingTime(now, salahTime);
-                    label.setText(LanguageHelper.getText("inTime") + " " + formatDurationHHMMSS(fromNow));
-                }
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (current) {
+                Graphics2D g2 = (Graphics2D) g.create();
+                applyRenderingHints(g2);
+                g2.setColor(CURRENT_SALAH_BG);
+                g2.fill(highlight.of(getWidth(), getHeight()));
+                g2.setColor(CURRENT_SALAH_BORDER);
+                g2.setStroke(BORDER_STROKE);
+                g2.draw(outline.of(getWidth(), getHeight()));
+                g2.dispose();
             }
+            super.paintComponent(g);
         }
     }
 
@@ -576,12 +631,14 @@ public class SalahTimesWindow extends JDialog {
         containerPanel.add(Box.createVerticalStrut(10));
 
         JPanel cardPanel = new JPanel() {
+            private final RoundRect background = new RoundRect(16, 0);
+
             @Override
             protected void paintComponent(Graphics g) {
                 Graphics2D g2 = (Graphics2D) g.create();
                 applyRenderingHints(g2);
                 g2.setColor(BACKGROUND_CARD);
-                g2.fill(new RoundRectangle2D.Float(0, 0, getWidth(), getHeight(), 16, 16));
+                g2.fill(background.of(getWidth(), getHeight()));
                 g2.dispose();
             }
         };
@@ -696,6 +753,8 @@ public class SalahTimesWindow extends JDialog {
     private JButton createStyledButton(String text, boolean isDanger) {
         JButton button = new JButton(text) {
             private boolean isHovered = false;
+            private final RoundRect background = new RoundRect(10, 0);
+            private final RoundRect border = new RoundRect(10, 1);
 
             {
                 addMouseListener(new MouseAdapter() {
@@ -722,18 +781,18 @@ public class SalahTimesWindow extends JDialog {
                 Color borderColor;
 
                 if (isDanger) {
-                    bgColor = isHovered ? new Color(220, 38, 38, 100) : new Color(220, 38, 38, 50);
+                    bgColor = isHovered ? DANGER_BG_HOVER : DANGER_BG;
                     borderColor = DANGER_COLOR;
                 } else {
-                    bgColor = isHovered ? new Color(60, 60, 70) : BACKGROUND_CARD;
+                    bgColor = isHovered ? BUTTON_BG_HOVER : BACKGROUND_CARD;
                     borderColor = BORDER_COLOR;
                 }
 
                 g2.setColor(bgColor);
-                g2.fill(new RoundRectangle2D.Float(0, 0, getWidth(), getHeight(), 10, 10));
+                g2.fill(background.of(getWidth(), getHeight()));
                 g2.setColor(borderColor);
-                g2.setStroke(new BasicStroke(1.5f));
-                g2.draw(new RoundRectangle2D.Float(0, 0, getWidth() - 1, getHeight() - 1, 10, 10));
+                g2.setStroke(BORDER_STROKE);
+                g2.draw(border.of(getWidth(), getHeight()));
                 g2.dispose();
 
                 super.paintComponent(g);
@@ -772,34 +831,27 @@ public class SalahTimesWindow extends JDialog {
         return String.format("%02d:%02d:%02d", hours, minutes, seconds);
     }
 
-    private void startUpdateTimer() {
-        updateTimer = new Timer("SalahTimesUpdateTimer", true);
-        updateTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                SwingUtilities.invokeLater(() -> {
-                    if (isDisplayable() && !isClosing) {
-                        int oldCurrentIndex = currentSalahIndex;
-                        int oldNextIndex = nextSalahIndex;
-
-                        determineCurrentAndNextSalah();
-                        updateCurrentTimeLabel();
-                        updateCountdownLabel();
-                        updateRemainingTimes();
-
-                        if (oldCurrentIndex != currentSalahIndex || oldNextIndex != nextSalahIndex) {
-                            buildPrayerTimesContent();
-                            updateNextSalahInfoLabel();
-                        }
-                    }
-                });
+    private void onClockTick() {
+        if (isDisplayable() && !isClosing) {
+            int oldCurrentIndex = currentSalahIndex;
+            int oldNextIndex = nextSalahIndex;
+            boolean timingsChanged = pollSnapshot();
+
+            determineCurrentAndNextSalah();
+            updateCurrentTimeLabel();
+            updateCountdownLabel();
+            updateRemainingTimes();
+
+            if (timingsChanged || oldCurrentIndex != currentSalahIndex || oldNextIndex != nextSalahIndex) {
+                syncPrayerRows();
+                updateNextSalahInfoLabel();
             }
-        }, 0, 1000);
+        }
     }
 
     private void updateNextSalahInfoLabel() {
         if (nextSalahInfoLabel != null && nextSalahIndex >= 0 && !orderedKeys.isEmpty()) {
-            String nextSalahName = orderedKeys.get(nextSalahIndex);
+            String nextSalahName = orderedKeys.get(nextSalahIndex).getTitle();
             nextSalahInfoLabel.setText(LanguageHelper.getText("nextPrayer") + ": " + nextSalahName + " " + LanguageHelper.getText("inTime") + " ");
         }
     }
@@ -808,7 +860,6 @@ public class SalahTimesWindow extends JDialog {
         if (isClosing) return;
         isClosing = true;
 
-        stopUpdateTimer();
         cleanup();
 
         if (onCloseCallback != null) {
@@ -821,15 +872,9 @@ public class SalahTimesWindow extends JDialog {
         dispose();
     }
 
-    private void stopUpdateTimer() {
-        if (updateTimer != null) {
-            updateTimer.cancel();
-            updateTimer.purge();
-            updateTimer = null;
-        }
-    }
-
     private void cleanup() {
+        UiClock.getInstance().unsubscribe(clockTick);
+
         if (outsideClickListener != null) {
             try {
                 Toolkit.getDefaultToolkit().removeAWTEventListener(outsideClickListener);
@@ -849,7 +894,6 @@ public class SalahTimesWindow extends JDialog {
 
     @Override
     public void dispose() {
-        stopUpdateTimer();
         cleanup();
         super.dispose();
     }
@@ -907,4 +951,78 @@ public class SalahTimesWindow extends JDialog {
 
         addWindowListener(windowAdapter);
     }
-}
\ No newline at end of file
+
+    /**
+     * Round rectangle for a component's background or outline, reused across paints and
+     * reshaped only when the component size changes.
+     */
+    private static final class RoundRect {
+        private final RoundRectangle2D.Float shape = new RoundRectangle2D.Float();
+        private final float arc;
+        private final int inset;
+
+        RoundRect(float arc, int inset) {
+            this.arc = arc;
+            this.inset = inset;
+        }
+
+        Shape of(int width, int height) {
+            float w = width - inset;
+            float h = height - inset;
+            if (shape.width != w || shape.height != h) {
+                shape.setRoundRect(0, 0, w, h, arc, arc);
+            }
+            return shape;
+        }
+    }
+
+    /**
+     * Antialiased label for text that changes every second. A new text repaints only the label's own
+     * rectangle; the window is laid out again only when the preferred size actually changes.
+     */
+    private static final class RetainedLabel extends JLabel {
+        private boolean updatingText;
+
+        RetainedLabel(String text) {
+            super(text);
+        }
+
+        @Override
+        public void setText(String text) {
+            // The JLabel constructor sets the text before the UI is installed
+            if (updatingText || getUI() == null || Objects.equals(text, getText())) {
+                super.setText(text);
+                return;
+            }
+            Dimension before = getPreferredSize();
+            updatingText = true;
+            try {
+                super.setText(text);
+            } finally {
+                updatingText = false;
+            }
+            if (!before.equals(getPreferredSize())) {
+                revalidate();
+            }
+            repaint(new Rectangle(0, 0, getWidth(), getHeight()));
+        }
+
+        @Override
+        public void revalidate() {
+            if (!updatingText) super.revalidate();
+        }
+
+        @Override
+        public void repaint(long tm, int x, int y, int width, int height) {
+            if (!updatingText) super.repaint(tm, x, y, width, height);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            applyRenderingHints(g2);
+            super.paintComponent(g2);
+            g2.dispose();
+        }
+    }
+}
@@ -1,26 +1,33 @@
 package uz.khoshimjonov.widget;
 
 import uz.khoshimjonov.dto.WidgetTextDto;
+import uz.khoshimjonov.service.ConfigChange;
 import uz.khoshimjonov.service.ConfigurationManager;
+import uz.khoshimjonov.service.HijriDate;
+import uz.khoshimjonov.service.ICalendarExporter;
 import uz.khoshimjonov.service.LanguageHelper;
+import uz.khoshimjonov.service.PrayerTimeScheduler;
 import uz.khoshimjonov.service.SalahTimeService;
+import uz.khoshimjonov.service.notification.NotificationDispatcher;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.time.LocalDate;
 import java.util.Objects;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class SalahWidget {
 
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
     private final ConfigurationManager configurationManager = ConfigurationManager.getInstance();
     private final SalahTimeService salahTimeService = new SalahTimeService();
     private FrameDragListener frameDragListener = null;
@@ -34,6 +41,17 @@ public class SalahWidget {
 
     private volatile long lastWindowCloseTime = 0;
     private static final long DEBOUNCE_MS = 200;
+    private static final long KEEP_ON_TOP_INTERVAL_MS = 30_000;
+    private static final int EXPORT_DAYS = 365;
+
+    // Overlay refresh: the clock thread computes the text, the EDT applies only the latest difference
+    private final UiClock.TickListener overlayTick = this::onClockTick;
+    private final AtomicReference<WidgetTextDto> pendingText = new AtomicReference<>();
+    private WidgetTextDto lastComputedText;     // clock thread only
+    private long lastKeepOnTopMillis;           // clock thread only
+    private JDialog dialog;                     // EDT only, as are the labels
+    private GlyphAtlasLabel timeLabel;
+    private GlyphAtlasLabel remainingLabel;
 
     public SalahWidget() {
         try {
@@ -46,6 +64,7 @@ public class SalahWidget {
             this.UPDATE_DELAY = configurationManager.getUpdateDelay();
             this.POINT_X = configurationManager.getPointX();
             this.POINT_Y = configurationManager.getPointY();
+            HijriDate.setDefaultCalendar(HijriDate.CalendarType.fromKey(configurationManager.getHijriCalendar()));
             this.tray = SystemTray.getSystemTray();
 
             BufferedImage trayIconImage = ImageIO.read(Objects.requireNonNull(getClass().getResource("/images/app.png")));
@@ -60,6 +79,12 @@ public class SalahWidget {
                 }
             });
             tray.add(trayIcon);
+            salahTimeService.start();
+            PrayerTimeScheduler.getInstance().start(salahTimeService::loadTimetable, NotificationDispatcher.fromConfiguration(trayIcon));
+            configurationManager.addListener(change -> PrayerTimeScheduler.getInstance()
+                    .setDispatcher(NotificationDispatcher.fromConfiguration(trayIcon)), ConfigChange.Aspect.NOTIFICATION_OUTPUTS);
+            configurationManager.addListener(change -> HijriDate.setDefaultCalendar(
+                    HijriDate.CalendarType.fromKey(change.current().hijriCalendar())), ConfigChange.Aspect.CALENDAR);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -76,9 +101,9 @@ public class SalahWidget {
                 }
             }
 
-            final JDialog dialog = new JDialog();
-            final JLabel timeLabel = new AntiAliasedLabel();
-            final JLabel remainingLabel = new AntiAliasedLabel();
+            dialog = new JDialog();
+            timeLabel = new GlyphAtlasLabel();
+            remainingLabel = new GlyphAtlasLabel();
 
             dialog.setLayout(new FlowLayout(FlowLayout.LEFT));
             dialog.requestFocus();
@@ -94,20 +119,7 @@ public class SalahWidget {
             dialog.add(remainingLabel);
             dialog.toFront();
 
-            scheduler.scheduleAtFixedRate(() -> {
-                WidgetTextDto widgetText = salahTimeService.getWidgetText(trayIcon);
-                if (widgetText != null) {
-                    timeLabel.setText(widgetText.getNextSalah());
-                    remainingLabel.setText(widgetText.getRemainingTime());
-                    remainingLabel.setForeground(widgetText.getTextColor());
-                }
-                if (configurationManager.isAlwaysOnTop()) {
-                    dialog.toFront();
-                }
-                if (frameDragListener != null && frameDragListener.getSavedPosition() != null) {
-                    dialog.setLocation(frameDragListener.getSavedPosition());
-                }
-            }, 0, UPDATE_DELAY, TimeUnit.SECONDS);
+            UiClock.getInstance().subscribe(overlayTick);
 
             dialog.addWindowListener(new WindowAdapter() {
                 @Override
@@ -122,7 +134,18 @@ public class SalahWidget {
                 frameDragListener = new FrameDragListener(dialog, dialog.getLocation());
                 dialog.addMouseListener(frameDragListener);
                 dialog.addMouseMotionListener(frameDragListener);
+                dialog.addComponentListener(new ComponentAdapter() {
+                    @Override
+                    public void componentMoved(ComponentEvent e) {
+                        restoreSavedPosition();
+                    }
+                });
             }
+            configurationManager.addListener(change -> {
+                if (change.current().alwaysOnTop() && !change.previous().alwaysOnTop()) {
+                    SwingUtilities.invokeLater(this::bringToFront);
+                }
+            }, ConfigChange.Aspect.WIDGET);
 
             PopupMenu popupMenu = new PopupMenu();
 
@@ -130,6 +153,14 @@ public class SalahWidget {
             showTimesItem.addActionListener(e -> showSalahTimesWindow());
             popupMenu.add(showTimesItem);
 
+            MenuItem diagnosticsItem = new MenuItem(LanguageHelper.getText("diagnosticsTitle"));
+            diagnosticsItem.addActionListener(e -> showDiagnosticsWindow());
+            popupMenu.add(diagnosticsItem);
+
+            MenuItem exportItem = new MenuItem(LanguageHelper.getText("exportCalendarTitle"));
+            exportItem.addActionListener(e -> showExportDialog());
+            popupMenu.add(exportItem);
+
             popupMenu.addSeparator();
 
             MenuItem settingsItem = new MenuItem(LanguageHelper.getText("settingsTitle"));
@@ -153,14 +184,120 @@ public class SalahWidget {
         Runtime.getRuntime().addShutdownHook(new Thread(this::cleanup));
     }
 
+    /**
+     * Refreshes every {@code UPDATE_DELAY} seconds, on the shared second boundaries.
+     */
+    private void onClockTick(long epochSecond) {
+        if (UPDATE_DELAY <= 1 || epochSecond % UPDATE_DELAY == 0) {
+            refreshOverlay();
+        }
+    }
+
+    /**
+     * Runs on the clock thread. Posts the widget text to the EDT only when it differs from the
+     * last computed one; if an update is still pending, it is replaced instead of queueing another.
+     */
+    private void refreshOverlay() {
+        WidgetTextDto widgetText = salahTimeService.getWidgetText();
+        if (widgetText != null && !widgetText.equals(lastComputedText)) {
+            lastComputedText = widgetText;
+            if (pendingText.getAndSet(widgetText) == null) {
+                SwingUtilities.invokeLater(this::applyPendingText);
+            }
+        }
+
+        // setAlwaysOnTop already keeps the dialog above normal windows, toFront only wins back
+        // ground from other always-on-top windows, so it is re-asserted occasionally, not every tick
+        long now = System.currentTimeMillis();
+        if (configurationManager.isAlwaysOnTop() && now - lastKeepOnTopMillis >= KEEP_ON_TOP_INTERVAL_MS) {
+            lastKeepOnTopMillis = now;
+            SwingUtilities.invokeLater(this::bringToFront);
+        }
+    }
+
+    private void applyPendingText() {
+        WidgetTextDto widgetText = pendingText.getAndSet(null);
+        if (widgetText == null) {
+            return;
+        }
+        if (!widgetText.getNextSalah().equals(timeLabel.getText())) {
+            timeLabel.setText(widgetText.getNextSalah());
+        }
+        if (!widgetText.getRemainingTime().equals(remainingLabel.getText())) {
+            remainingLabel.setText(widgetText.getRemainingTime());
+        }
+        if (!widgetText.getTextColor().equals(remainingLabel.getForeground())) {
+            remainingLabel.setForeground(widgetText.getTextColor());
+        }
+    }
+
+    private void bringToFront() {
+        if (dialog != null && dialog.isDisplayable()) {
+            dialog.toFront();
+        }
+    }
+
+    /**
+     * Puts the dialog back at its saved position when something other than a drag moved it.
+     */
+    private void restoreSavedPosition() {
+        Point savedPosition = frameDragListener.getSavedPosition();
+        if (savedPosition != null && !savedPosition.equals(dialog.getLocation())) {
+            dialog.setLocation(savedPosition);
+        }
+    }
+
     private void showSettingsWindow() {
         SettingsWindow settingsWindow = new SettingsWindow();
         settingsWindow.setVisible(true);
     }
 
+    private void showDiagnosticsWindow() {
+        JTextArea textArea = new JTextArea(PrayerTimeScheduler.getInstance().getDebugInfo(), 30, 90);
+        textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        textArea.setEditable(false);
+        textArea.setCaretPosition(0);
+
+        JDialog dialog = new JDialog();
+        dialog.setTitle(LanguageHelper.getText("diagnosticsTitle"));
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        dialog.add(new JScrollPane(textArea));
+        dialog.pack();
+        dialog.setLocationRelativeTo(null);
+        dialog.setVisible(true);
+    }
+
+    private void showExportDialog() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle(LanguageHelper.getText("exportCalendarTitle"));
+        chooser.setFileFilter(new FileNameExtensionFilter("iCalendar (*.ics)", "ics"));
+        chooser.setSelectedFile(new File("salah-times.ics"));
+        if (chooser.showSaveDialog(null) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File selected = chooser.getSelectedFile();
+        File file = selected.getName().toLowerCase().endsWith(".ics") ? selected : new File(selected.getPath() + ".ics");
+
+        // A year of prayer times takes a moment, keep it off the EDT
+        Thread exportThread = new Thread(() -> {
+            try {
+                LocalDate from = LocalDate.now();
+                ICalendarExporter.fromConfiguration().export(from, from.plusDays(EXPORT_DAYS), file.toPath());
+                trayIcon.displayMessage(LanguageHelper.getText("exportCalendarTitle"),
+                        LanguageHelper.getText("exportCalendarDone") + " " + file.getName(), TrayIcon.MessageType.INFO);
+            } catch (Exception e) {
+                e.printStackTrace();
+                trayIcon.displayMessage(LanguageHelper.getText("exportCalendarTitle"),
+                        LanguageHelper.getText("exportCalendarFailed"), TrayIcon.MessageType.ERROR);
+            }
+        }, "calendar-export");
+        exportThread.setDaemon(true);
+        exportThread.start();
+    }
+
     private void showSalahTimesWindow() {
         try {
-            salahTimeService.getWidgetText(trayIcon);
+            salahTimeService.getWidgetText();
         } catch (Exception ignored) {}
 
         // Debounce: When user clicks outside the window to close it, and that click
@@ -175,7 +312,7 @@ public class SalahWidget {
             salahTimesWindow = null;
         } else {
             salahTimesWindow = new SalahTimesWindow(
-                    salahTimeService.getTimings(),
+                    salahTimeService::getSnapshot,
                     () -> lastWindowCloseTime = System.currentTimeMillis()
             );
         }
@@ -183,20 +320,14 @@ public class SalahWidget {
 
     private void cleanup() {
         System.out.println("App is closing...");
-        if (!scheduler.isShutdown()) {
-            scheduler.shutdown();
-            try {
-                if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                    System.err.println("Scheduler did not terminate in time.");
-                }
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
+        UiClock.getInstance().unsubscribe(overlayTick);
+        salahTimeService.shutdown();
         // Also shutdown prayer notification scheduler
         try {
-            uz.khoshimjonov.service.PrayerTimeScheduler.getInstance().shutdown();
+            PrayerTimeScheduler.getInstance().shutdown();
         } catch (Exception ignored) {}
+        // Write any settings still waiting in the write-behind queue
+        configurationManager.flush();
     }
 
 }
\ No newline at end of file
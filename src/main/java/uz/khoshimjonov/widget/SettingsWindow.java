@@ -1198,30 +1198,32 @@ public class SettingsWindow extends JFrame {
 
     private void saveSettings() {
         try {
-            configManager.setAddress(addressTextField.getText());
-            configManager.setLatitude(Double.parseDouble(latitudeTextField.getText()));
-            configManager.setLongitude(Double.parseDouble(longitudeTextField.getText()));
-            configManager.setElevation(Double.parseDouble(elevationTextField.getText()));
-            configManager.setMethod(MethodEnum.getMethodByName((String) methodComboBox.getSelectedItem()).getCode());
-            configManager.setUserLanguage(String.valueOf(languageComboBox.getSelectedItem()));
-            int school = shafiRadioButton.isSelected() ? 0 : 1;
-            configManager.setSchool(school);
-            configManager.setLookAndFeelEnabled(lookAndFeelCheckBox.isSelected());
-            configManager.setUseApi(useApiCheckBox.isSelected());
-            configManager.setDraggable(draggableCheckBox.isSelected());
-            configManager.setAlwaysOnTop(alwaysOnTopCheckBox.isSelected());
-
-            String intervalText = updateIntervalField.getText().replace(",", "").replace(" ", "");
-            configManager.setUpdateDelay(Integer.parseInt(intervalText));
-
-            String beforeText = notificationBeforeField.getText().replace(",", "").replace(" ", "");
-            configManager.setNotificationBeforeMinutes(Integer.parseInt(beforeText));
-
-            configManager.setNotifyBefore(notifyBeforeCheckBox.isSelected());
-            configManager.setNotifyOnTime(notifyOnTimeCheckBox.isSelected());
-
             boolean wantAutoStart = autoStartCheckBox.isSelected();
-            configManager.setAutoStart(wantAutoStart);
+
+            // One batch, one file write; a parse error leaves the stored settings untouched
+            configManager.update(editor -> {
+                editor.setAddress(addressTextField.getText())
+                        .setLatitude(Double.parseDouble(latitudeTextField.getText()))
+                        .setLongitude(Double.parseDouble(longitudeTextField.getText()))
+                        .setElevation(Double.parseDouble(elevationTextField.getText()))
+                        .setMethod(MethodEnum.getMethodByName((String) methodComboBox.getSelectedItem()).getCode())
+                        .setUserLanguage(String.valueOf(languageComboBox.getSelectedItem()))
+                        .setSchool(shafiRadioButton.isSelected() ? 0 : 1)
+                        .setLookAndFeelEnabled(lookAndFeelCheckBox.isSelected())
+                        .setUseApi(useApiCheckBox.isSelected())
+                        .setDraggable(draggableCheckBox.isSelected())
+                        .setAlwaysOnTop(alwaysOnTopCheckBox.isSelected());
+
+                String intervalText = updateIntervalField.getText().replace(",", "").replace(" ", "");
+                editor.setUpdateDelay(Integer.parseInt(intervalText));
+
+                String beforeText = notificationBeforeField.getText().replace(",", "").replace(" ", "");
+                editor.setNotificationBeforeMinutes(Integer.parseInt(beforeText));
+
+                editor.setNotifyBefore(notifyBeforeCheckBox.isSelected())
+                        .setNotifyOnTime(notifyOnTimeCheckBox.isSelected())
+                        .setAutoStart(wantAutoStart);
+            });
 
             boolean ok = wantAutoStart ? AutoStartManager.enable() : AutoStartManager.disable();
             if (!ok) {
@@ -1231,8 +1233,6 @@ public class SettingsWindow extends JFrame {
                 );
             }
 
-            LanguageHelper.setLocale(String.valueOf(languageComboBox.getSelectedItem()));
-            configManager.apiSettingsUpdated = true;
             dispose();
         } catch (NumberFormatException e) {
             showErrorDialog(
@@ -0,0 +1,120 @@
+package uz.khoshimjonov.widget;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one-second tick shared by every on-screen countdown.
+ * <p>
+ * Strategy:
+ * - A single daemon thread wakes just after each wall-clock second boundary, so all countdowns
+ *   change together and the CPU wakes once per second for the whole UI
+ * - Each tick schedules the next one from the current wall time, which keeps the phase after
+ *   a slow tick, a clock change or a resume
+ * - With no subscribers nothing is scheduled; the first subscriber restarts the tick
+ * <p>
+ * Listeners run on the clock thread. Anything touching Swing must hop to the EDT itself,
+ * ideally after working out off the EDT whether anything changed.
+ */
+public class UiClock {
+
+    // Fire a little after the boundary, so "now" is already in the new second
+    private static final long BOUNDARY_SLACK_MS = 5;
+
+    private static volatile UiClock instance;
+
+    private final ScheduledExecutorService executor;
+    private final List<TickListener> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledFuture<?> pendingTick;     // null while stopped
+    private long generation;                    // bumped on stop, so a tick already running does not reschedule
+
+    @FunctionalInterface
+    public interface TickListener {
+        /**
+         * @param epochSecond the wall-clock second that just started
+         */
+        void onTick(long epochSecond);
+    }
+
+    private UiClock() {
+        ThreadFactory tf = r -> {
+            Thread t = new Thread(r, "ui-clock");
+            t.setDaemon(true);
+            return t;
+        };
+        this.executor = Executors.newSingleThreadScheduledExecutor(tf);
+    }
+
+    public static UiClock getInstance() {
+        if (instance == null) {
+            synchronized (UiClock.class) {
+                if (instance == null) {
+                    instance = new UiClock();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Adds a listener; it gets its first tick right away and then one at every second boundary.
+     * Subscribing the same listener twice has no effect.
+     */
+    public synchronized void subscribe(TickListener listener) {
+        if (listeners.contains(listener)) {
+            return;
+        }
+        listeners.add(listener);
+        executor.execute(() -> deliver(listener, System.currentTimeMillis() / 1000));
+        if (pendingTick == null) {
+            scheduleNextTick();
+        }
+    }
+
+    /**
+     * Removes a listener. The clock stops when the last one leaves.
+     */
+    public synchronized void unsubscribe(TickListener listener) {
+        listeners.remove(listener);
+        if (listeners.isEmpty() && pendingTick != null) {
+            pendingTick.cancel(false);
+            pendingTick = null;
+            generation++;
+        }
+    }
+
+    public boolean isRunning() {
+        return !listeners.isEmpty();
+    }
+
+    private synchronized void scheduleNextTick() {
+        long tickGeneration = generation;
+        long delay = 1000 - System.currentTimeMillis() % 1000 + BOUNDARY_SLACK_MS;
+        pendingTick = executor.schedule(() -> tick(tickGeneration), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick(long tickGeneration) {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        for (TickListener listener : listeners) {
+            deliver(listener, epochSecond);
+        }
+        synchronized (this) {
+            if (tickGeneration == generation && !listeners.isEmpty()) {
+                scheduleNextTick();
+            }
+        }
+    }
+
+    private static void deliver(TickListener listener, long epochSecond) {
+        try {
+            listener.onTick(epochSecond);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
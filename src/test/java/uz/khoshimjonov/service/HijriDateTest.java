@@ -0,0 +1,25 @@
+package uz.khoshimjonov.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HijriDateTest {
+
+    @Test
+    void everyDayOfFirst1600YearsRoundTrips() {
+        long first = new HijriDate(1, 1, 1).toEpochDay();
+        long last = new HijriDate(1600, 12, HijriDate.getDaysInMonth(1600, 12)).toEpochDay();
+        HijriDate previous = null;
+        for (long epochDay = first; epochDay <= last; epochDay++) {
+            HijriDate h = HijriDate.fromEpochDay(epochDay);
+            assertTrue(h.getDay() <= HijriDate.getDaysInMonth(h.getYear(), h.getMonth()), h::toString);
+            assertEquals(epochDay, new HijriDate(h.getYear(), h.getMonth(), h.getDay()).toEpochDay(), h::toString);
+            if (previous != null) {
+                assertTrue(previous.isBefore(h), h::toString);
+            }
+            previous = h;
+        }
+    }
+}
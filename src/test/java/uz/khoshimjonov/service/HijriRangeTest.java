@@ -0,0 +1,29 @@
+package uz.khoshimjonov.service;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import uz.khoshimjonov.service.HijriDate.CalendarType;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HijriRangeTest {
+
+    /**
+     * 1850-2250 crosses both ends of the Umm al-Qura table.
+     */
+    @ParameterizedTest
+    @EnumSource(CalendarType.class)
+    void rangeConversionMatchesPerDayConversion(CalendarType type) {
+        LocalDate start = LocalDate.of(1850, 1, 1);
+        int days = (int) (LocalDate.of(2250, 1, 1).toEpochDay() - start.toEpochDay());
+        int[] packed = HijriRange.convert(start, days, type);
+        for (int i = 0; i < days; i++) {
+            HijriDate h = HijriDate.fromEpochDay(start.toEpochDay() + i, type);
+            assertEquals(h.getYear(), HijriRange.yearOf(packed[i]), h::toString);
+            assertEquals(h.getMonth(), HijriRange.monthOf(packed[i]), h::toString);
+            assertEquals(h.getDay(), HijriRange.dayOf(packed[i]), h::toString);
+        }
+    }
+}
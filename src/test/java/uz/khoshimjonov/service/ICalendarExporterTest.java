@@ -0,0 +1,92 @@
+package uz.khoshimjonov.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ICalendarExporterTest {
+
+    // Two-, three- and four-byte UTF-8 plus every character TEXT values escape
+    private static final String NAME = "Время намаза; Ташкент, Узбекистан \\ مواقيت الصلاة — рамадан 🌙\n"
+            + "вторая строка с длинным текстом, которое точно не поместится в одну строку";
+
+    /**
+     * Events only: prayer titles come from LanguageHelper, which needs the configuration.
+     */
+    private static byte[] export() throws IOException {
+        ZoneId zone = ZoneId.of("Asia/Tashkent");
+        SalahTimesCalculator calculator = new SalahTimesCalculator(
+                new SalahTimesCalculator.Coordinates(41.2995, 69.2401, 455, zone));
+        ICalendarExporter exporter = new ICalendarExporter(calculator, zone, "ru")
+                .includePrayers(false)
+                .calendarName(NAME);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // Ramadan and Eid al-Fitr 1446, so there are Cyrillic event names too
+        exporter.export(LocalDate.of(2025, 2, 28), LocalDate.of(2025, 4, 2), out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void physicalLinesAreAtMost75OctetsAndValidUtf8() throws IOException {
+        byte[] bytes = export();
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length - 1; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                int length = i - lineStart;
+                assertTrue(length <= 75, () -> "line of " + length + " octets");
+                // A fold inside a multi-byte sequence would leave an undecodable line
+                ByteBuffer line = ByteBuffer.wrap(bytes, lineStart, length);
+                assertDoesNotThrow(() -> StandardCharsets.UTF_8.newDecoder().decode(line));
+                lineStart = i + 2;
+            }
+        }
+        assertEquals(bytes.length, lineStart);
+    }
+
+    @Test
+    void unfoldingRestoresEscapedText() throws IOException {
+        String content = new String(export(), StandardCharsets.UTF_8);
+        assertTrue(content.contains("\r\n "), "expected folded lines");
+
+        String nameLine = null;
+        List<String> summaries = new ArrayList<>();
+        for (String line : content.replace("\r\n ", "").split("\r\n")) {
+            if (line.startsWith("X-WR-CALNAME:")) nameLine = line.substring("X-WR-CALNAME:".length());
+            if (line.startsWith("SUMMARY:")) summaries.add(line);
+            if (line.startsWith("DTSTAMP:")) assertTrue(line.matches("DTSTAMP:\\d{8}T\\d{6}Z"), line);
+        }
+
+        assertNotNull(nameLine);
+        assertTrue(nameLine.contains("\\;") && nameLine.contains("\\,") && nameLine.contains("\\\\") && nameLine.contains("\\n"), nameLine);
+        assertEquals(NAME, unescape(nameLine));
+        assertTrue(summaries.stream().anyMatch(s -> s.chars().anyMatch(c -> Character.UnicodeBlock.of(c) == Character.UnicodeBlock.CYRILLIC)),
+                summaries::toString);
+    }
+
+    private static String unescape(String value) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                sb.append(next == 'n' ? '\n' : next);
+            } else {
+                assertTrue(c != ';' && c != ',', "unescaped " + c);
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package uz.khoshimjonov.service;
+
+import org.junit.jupiter.api.Test;
+import uz.khoshimjonov.service.HijriDate.CalendarType;
+
+import java.time.chrono.HijrahChronology;
+import java.time.chrono.HijrahDate;
+import java.time.temporal.ChronoField;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UmmAlQuraTableTest {
+
+    @Test
+    void everyTableDayRoundTripsAndMatchesHijrahChronology() {
+        for (long epochDay = UmmAlQuraTable.FIRST_EPOCH_DAY; epochDay <= UmmAlQuraTable.LAST_EPOCH_DAY; epochDay++) {
+            HijriDate h = HijriDate.fromEpochDay(epochDay, CalendarType.UMM_AL_QURA);
+            HijrahDate reference = HijrahChronology.INSTANCE.dateEpochDay(epochDay);
+            assertEquals(CalendarType.UMM_AL_QURA, h.getCalendar());
+            assertEquals(epochDay, new HijriDate(h.getYear(), h.getMonth(), h.getDay(), CalendarType.UMM_AL_QURA).toEpochDay(), h::toString);
+            assertEquals(reference.get(ChronoField.YEAR), h.getYear(), reference::toString);
+            assertEquals(reference.get(ChronoField.MONTH_OF_YEAR), h.getMonth(), reference::toString);
+            assertEquals(reference.get(ChronoField.DAY_OF_MONTH), h.getDay(), reference::toString);
+        }
+    }
+}